@@ -0,0 +1,116 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+/**
+ * An immutable summary of a batch of generations evolved by
+ * World.evolve(int) or World.evolveUntil.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see World#evolveUntil(Rule, java.util.function.Predicate, int)
+ */
+
+public final class EvolutionSummary {
+
+    ///Number of Generations Evolved
+    private final int generations;
+    ///Number of New Infections Produced by the Batch
+    private final int newInfections;
+    ///Flag Indicating if the Batch Stopped Because the World Settled
+    private final boolean settled;
+    ///Flag Indicating if the Batch Stopped Because the Condition Held
+    private final boolean conditionMet;
+    ///Number of Cells in Each State Once the Batch Stopped (By Code)
+    private final long stateCounts[];
+
+    /**
+     * Constructs a new EvolutionSummary.
+     * @param g Number of generations evolved.
+     * @param i Number of new infections produced.
+     * @param s Whether the batch stopped because the World settled.
+     * @param c Whether the batch stopped because the condition held.
+     * @param counts Number of Cells in each state, indexed by character code
+     * (256 entries).  Not copied.
+     */
+    EvolutionSummary(int g, int i, boolean s, boolean c, long counts[]) {
+        generations = g;
+        newInfections = i;
+        settled = s;
+        conditionMet = c;
+        stateCounts = counts;
+    }
+
+    /**
+     * Returns the number of generations evolved.
+     * @return Number of generations evolved.
+     */
+    public int getGenerations() {
+        return generations;
+    }
+
+    /**
+     * Returns the number of new infections produced by the batch.
+     * @return Number of new infections produced by the batch.
+     */
+    public int getNewInfections() {
+        return newInfections;
+    }
+
+    /**
+     * Returns whether the batch stopped early because the World settled:
+     * it is stagnant and no Cell can change on its own any more.
+     * @return true if the World settled.  Returns false otherwise.
+     */
+    public boolean isSettled() {
+        return settled;
+    }
+
+    /**
+     * Returns whether the batch stopped early because its condition held.
+     * @return true if the condition held.  Returns false otherwise.
+     */
+    public boolean isConditionMet() {
+        return conditionMet;
+    }
+
+    /**
+     * Returns the number of Cells in the specified state once the batch
+     * stopped.
+     * @param state State being counted.
+     * @return Number of Cells in the state.
+     */
+    public long getStateCount(char state) {
+        return state < stateCounts.length ? stateCounts[state] : 0;
+    }
+
+    /**
+     * Overrides toString.
+     * @return String in the form: [ Generations, New Infections, Settled,
+     * Condition Met ].
+     * @see java.lang.Object#toString()
+     */
+    public String toString() {
+        return "[" + generations + ", " + newInfections + ", " + settled +
+            ", " + conditionMet + "]";
+    }
+}
@@ -0,0 +1,220 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+/**
+ * Event-driven engine evolving only the front of the dynamics.  SIR runs are
+ * front-driven: a SUSCEPTIBLE Cell can only become INFECTED once an
+ * infectious neighbor appears, an INFECTED Cell can only recover once its
+ * neighborhood changes, and so on; everywhere else the World is at rest.
+ * The engine keeps an explicit frontier worklist of the Cells that may
+ * change, deduplicated with a bitmap.  Each generation evaluates only the
+ * frontier, counting each Cell's neighbors on the spot, and produces the
+ * next frontier from the Cells that changed: the Cells themselves, plus
+ * the neighbors whose rules read one of the states involved (see
+ * World.compileRules).  CARRIER_I Cells still too young to recover stay on
+ * the frontier.  The first generation evaluates every Cell; after that the
+ * cost of a generation is proportional to the length of the front rather
+ * than to the size of the World.
+ *
+ * Cells are stored with a one-Cell halo of state zero, which no rule
+ * counts, so neighbors are read without bounds checks.  Ages are kept as
+ * stamps, as in the World.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see IncrementalEngine
+ */
+
+final class FrontierEngine implements WorldEngine {
+    ///Number of Cell Rows
+    private final int rows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Distance Between Rows of the Padded Planes
+    private final int stride;
+    ///Offsets of a Cell's Neighbors Within the Padded Planes
+    private final int neighbors[];
+    ///Compiled Transition Table (See World.compileRules)
+    private final int rules[];
+    ///Neighbor Count Lanes Read by the Rules of Each State
+    private final long ruleLanes[] = new long[256];
+    ///States Whose Cells Grow One Generation Older Every Generation
+    private final boolean stamped[] = new boolean[256];
+    ///Current Cell States (Padded, Row-Major)
+    private final byte state[];
+    ///Cell Age Stamps (Padded, Row-Major)
+    private final int stamps[];
+    ///Frontier (Padded Cell Indices) and State Changes of Each Generation
+    private final Worklist frontier;
+    ///Number of Generations Evolved Since the Engine Was Loaded
+    private int generation = 0;
+    ///Number of New Infections Produced By the Last Generation
+    private int newInfections = 0;
+
+    /**
+     * Constructs a new FrontierEngine utilizing the World type's default
+     * rules.
+     * @param r Number of Cell rows.
+     * @param c Number of Cell columns.
+     * @param nSize Neighborhood size (VON_NEUMANN or MOORE).
+     * @param wType World type.
+     * @param births Whether births are considered.
+     * @param carriers Whether Carrier Cells are considered.
+     */
+    FrontierEngine(int r, int c, int nSize, String wType, boolean births,
+            boolean carriers) {
+        rows = r;
+        columns = c;
+        stride = columns + 2;
+        if(nSize == World.MOORE) {
+            neighbors = new int[] {-stride - 1, -stride, -stride + 1, -1, 1,
+                stride - 1, stride, stride + 1};
+        }
+        else {
+            neighbors = new int[] {-stride, -1, 1, stride};
+        }
+        rules = World.compileRules(wType, births, carriers, null, ruleLanes);
+        //A state ages if its Cells grow older while keeping it.
+        for(int s = 0; s < 256; ++s) {
+            for(int x = 0; x < 32; ++x) {
+                final int rule = rules[s << 5 | x];
+                if((rule & 0xFF) == s &&
+                        (rule & World.AGE_GROW) == World.AGE_GROW) {
+                    stamped[s] = true;
+                }
+            }
+        }
+        final int size = (rows + 2) * stride;
+        state = new byte[size];
+        stamps = new int[size];
+        frontier = new Worklist(size, 1024);
+    }
+
+    /**
+     * @see WorldEngine#load(byte[], int[])
+     */
+    public boolean load(byte state[], int ages[]) {
+        generation = 0;
+        frontier.clear();
+        for(int i = 0; i < rows; ++i) {
+            for(int j = 0; j < columns; ++j) {
+                final int k = i * columns + j;
+                final int p = (i + 1) * stride + j + 1;
+                this.state[p] = state[k];
+                stamps[p] = stamped[state[k] & 0xFF] ? -ages[k] : ages[k];
+                frontier.queue(p);
+            }
+        }
+        frontier.swap();
+        return true;
+    }
+
+    /**
+     * @see WorldEngine#store(byte[], int[])
+     */
+    public void store(byte state[], int ages[]) {
+        for(int i = 0; i < rows; ++i) {
+            for(int j = 0; j < columns; ++j) {
+                final int k = i * columns + j;
+                final int p = (i + 1) * stride + j + 1;
+                state[k] = this.state[p];
+                ages[k] = stamped[state[k] & 0xFF] ?
+                    generation - stamps[p] : stamps[p];
+            }
+        }
+    }
+
+    /**
+     * Evaluates the frontier against the current generation, then applies
+     * the state changes and gathers the next frontier.
+     * @see WorldEngine#step(int[])
+     */
+    public int step(int transitions[]) {
+        newInfections = 0;
+        for(int f = 0; f < frontier.size(); ++f) {
+            final int p = frontier.get(f);
+            final int s = state[p] & 0xFF;
+            long counts = 0L;
+            for(int x = 0; x < neighbors.length; ++x) {
+                counts += World.STATE_LANES[state[p + neighbors[x]] & 0xFF];
+            }
+            final int stamp = stamps[p];
+            final int age = stamped[s] ? generation - stamp : stamp;
+            final int rule = World.nextRule(rules, ruleLanes, s, counts,
+                    age);
+            final int futureAge = World.futureAge(rule, age);
+            final int futureStamp = stamped[rule & 0xFF] ?
+                generation + 1 - futureAge : futureAge;
+            if(futureStamp != stamp) {
+                stamps[p] = futureStamp;
+            }
+            if((rule & 0xFF) != s) {
+                frontier.change(p, (byte) rule);
+            }
+            if((rule & World.RULE_CHANGED) != 0) {
+                ++transitions[(rule >>> World.TRANSITION_SHIFT) & 7];
+                newInfections += (rule >>> 14) & 1;
+            }
+            if((rule & World.RULE_AGING_CARRIER) != 0 &&
+                    futureAge <= World.CARRIER_TSBE) {
+                frontier.queue(p);
+            }
+        }
+        final int changes = frontier.changes();
+        for(int x = 0; x < changes; ++x) {
+            final int p = frontier.changedCell(x);
+            final byte next = frontier.changedState(x);
+            final long lanes = World.STATE_LANES[state[p] & 0xFF] |
+                World.STATE_LANES[next & 0xFF];
+            state[p] = next;
+            frontier.queue(p);
+            if(lanes == 0L) {
+                continue;
+            }
+            //Only neighbors whose rules count one of the two states care.
+            for(int y = 0; y < neighbors.length; ++y) {
+                final int neighbor = p + neighbors[y];
+                if((ruleLanes[state[neighbor] & 0xFF] & lanes) != 0L) {
+                    frontier.queue(neighbor);
+                }
+            }
+        }
+        frontier.swap();
+        ++generation;
+        return changes;
+    }
+
+    /**
+     * @see WorldEngine#getNewInfectionCount()
+     */
+    public int getNewInfectionCount() {
+        return newInfections;
+    }
+
+    /**
+     * @see WorldEngine#getCellState(int, int)
+     */
+    public char getCellState(int row, int column) {
+        return (char) state[(row + 1) * stride + column + 1];
+    }
+}
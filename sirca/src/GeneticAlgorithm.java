@@ -401,13 +401,12 @@ public class GeneticAlgorithm {
     }
 
     private int runCA(String ruleString) {
+        //Decode the chromosome once, not once per generation.
+        final Rule rule = new Rule(ruleString);
         world.reset();
         populateModel();
-        //Note: I take the world's state into consideration to save on
-        //some time.  && !world.isStagnant() can be removed.
-        for(int i = 0; i < MAX_CA_ITERATIONS; ++i) {
-            world.evolve(ruleString);
-        }
+        //Stops early once the world settles: no more infections can follow.
+        world.evolve(rule, MAX_CA_ITERATIONS);
         return world.getNewInfectionCount();
     }
 
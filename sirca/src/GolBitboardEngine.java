@@ -0,0 +1,211 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.util.Arrays;
+
+
+/**
+ * Bit-parallel Game of Life engine.  Each row of the World is stored as a
+ * run of 64-bit words, one bit per Cell (1 = ALIVE, 0 = DEAD), and a whole
+ * word of Cells is evolved at once: the eight (or four) neighbor words are
+ * summed with bitwise full adders and the birth/survival rules are applied
+ * to the resulting bit-sliced counts.  Bits past the last column, and the
+ * rows above and below the World, are kept clear, so Cells outside the World
+ * are never counted.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ */
+
+final class GolBitboardEngine implements WorldEngine {
+    ///Number of Cell Rows
+    private final int rows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Number of Words Per Row
+    private final int words;
+    ///Mask of the Valid Bits in the Last Word of a Row
+    private final long lastWordMask;
+    ///Current Neighborhood Size (VON_NEUMANN or MOORE)
+    private final int neighborhoodSize;
+    ///Current Generation (Row-Major Words, With an Empty Row Above and Below)
+    private long board[];
+    ///Next Generation (Row-Major Words, With an Empty Row Above and Below)
+    private long nextBoard[];
+
+    /**
+     * Constructs a new GolBitboardEngine.
+     * @param r Number of Cell rows.
+     * @param c Number of Cell columns.
+     * @param nSize Neighborhood size (VON_NEUMANN or MOORE).
+     */
+    GolBitboardEngine(int r, int c, int nSize) {
+        rows = r;
+        columns = c;
+        words = (columns + 63) >>> 6;
+        lastWordMask = -1L >>> (words * 64 - columns);
+        neighborhoodSize = nSize;
+        board = new long[(rows + 2) * words];
+        nextBoard = new long[(rows + 2) * words];
+    }
+
+    /**
+     * @see WorldEngine#load(byte[], int[])
+     */
+    public boolean load(byte state[], int ages[]) {
+        Arrays.fill(board, 0L);
+        for(int i = 0; i < rows; ++i) {
+            for(int j = 0; j < columns; ++j) {
+                final byte s = state[i * columns + j];
+                if(s == World.ALIVE) {
+                    board[(i + 1) * words + (j >>> 6)] |= 1L << j;
+                }
+                else if(s != World.DEAD) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @see WorldEngine#store(byte[], int[])
+     */
+    public void store(byte state[], int ages[]) {
+        for(int i = 0; i < rows; ++i) {
+            for(int j = 0; j < columns; ++j) {
+                state[i * columns + j] = (byte) getCellState(i, j);
+            }
+        }
+    }
+
+    /**
+     * @see WorldEngine#getCellState(int, int)
+     */
+    public char getCellState(int row, int column) {
+        final long word = board[(row + 1) * words + (column >>> 6)];
+        return ((word >>> column) & 1L) != 0 ? World.ALIVE : World.DEAD;
+    }
+
+    /**
+     * @see WorldEngine#getNewInfectionCount()
+     */
+    public int getNewInfectionCount() {
+        return 0;
+    }
+
+    /**
+     * @see WorldEngine#step(int[])
+     */
+    public int step(int transitions[]) {
+        int births = 0;
+        int deaths = 0;
+        final boolean moore = neighborhoodSize == World.MOORE;
+        for(int i = 1; i <= rows; ++i) {
+            final int nBase = (i - 1) * words;
+            final int cBase = i * words;
+            final int sBase = (i + 1) * words;
+            //Previous, current and following words of each row.
+            long nPrev = 0L, cPrev = 0L, sPrev = 0L;
+            long n = board[nBase], c = board[cBase], s = board[sBase];
+            for(int w = 0; w < words; ++w) {
+                final boolean last = w == words - 1;
+                final long nNext = last ? 0L : board[nBase + w + 1];
+                final long cNext = last ? 0L : board[cBase + w + 1];
+                final long sNext = last ? 0L : board[sBase + w + 1];
+                final long west = (c << 1) | (cPrev >>> 63);
+                final long east = (c >>> 1) | (cNext << 63);
+                long next;
+                if(moore) {
+                    next = evolveMoore(c,
+                            n, (n << 1) | (nPrev >>> 63),
+                            (n >>> 1) | (nNext << 63),
+                            west, east,
+                            s, (s << 1) | (sPrev >>> 63),
+                            (s >>> 1) | (sNext << 63));
+                }
+                else {
+                    next = evolveVonNeumann(c, n, s, west, east);
+                }
+                if(last) {
+                    next &= lastWordMask;
+                }
+                nextBoard[cBase + w] = next;
+                births += Long.bitCount(next & ~c);
+                deaths += Long.bitCount(c & ~next);
+                nPrev = n; cPrev = c; sPrev = s;
+                n = nNext; c = cNext; s = sNext;
+            }
+        }
+        final long swap[] = board;
+        board = nextBoard;
+        nextBoard = swap;
+        transitions[World.DEAD_TO_ALIVE] += births;
+        transitions[World.ALIVE_TO_DEAD] += deaths;
+        return births + deaths;
+    }
+
+    /**
+     * Applies the Game of Life rules to a word of Cells with a Moore
+     * neighborhood.  The eight neighbor words are reduced with full adders to
+     * a bit-sliced count (ones, twos and a fours-or-more flag); a Cell is
+     * alive in the next generation if it has three neighbors, or if it is
+     * alive and has two.
+     * @return Next generation of the word.
+     */
+    private static long evolveMoore(long c, long n, long nw, long ne,
+            long w, long e, long s, long sw, long se) {
+        //North row, south row and west/east pair sums.
+        final long nOnes = nw ^ n ^ ne;
+        final long nTwos = (nw & n) | (ne & (nw ^ n));
+        final long sOnes = sw ^ s ^ se;
+        final long sTwos = (sw & s) | (se & (sw ^ s));
+        final long mOnes = w ^ e;
+        final long mTwos = w & e;
+        //Ones bit of the total and the carry it produces.
+        final long ones = nOnes ^ sOnes ^ mOnes;
+        final long onesCarry = (nOnes & sOnes) | (mOnes & (nOnes ^ sOnes));
+        //Twos bit of the total; any carry out means four or more.
+        final long t = nTwos ^ sTwos ^ mTwos;
+        final long tCarry = (nTwos & sTwos) | (mTwos & (nTwos ^ sTwos));
+        final long twos = t ^ onesCarry;
+        final long fours = tCarry | (t & onesCarry);
+        return twos & ~fours & (ones | c);
+    }
+
+    /**
+     * Applies the Game of Life rules to a word of Cells with a von Neumann
+     * neighborhood.
+     * @return Next generation of the word.
+     * @see #evolveMoore
+     */
+    private static long evolveVonNeumann(long c, long n, long s, long w,
+            long e) {
+        final long t = n ^ s ^ w;
+        final long tCarry = (n & s) | (w & (n ^ s));
+        final long ones = t ^ e;
+        final long twos = tCarry ^ (t & e);
+        final long fours = tCarry & t & e;
+        return twos & ~fours & (ones | c);
+    }
+}
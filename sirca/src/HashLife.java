@@ -0,0 +1,601 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+
+/**
+ * Hashlife evolution of Game of Life worlds.  The universe is stored as a
+ * hash-consed quadtree: identical sub-squares share a single canonical node,
+ * and every node memoizes its own future, so repetitive patterns can be
+ * advanced by power-of-two numbers of generations at a time.
+ *
+ * Unlike a World, the Hashlife universe is unbounded: Cells that wander past
+ * the edges of the World they were loaded from keep evolving, and only the
+ * part of the universe covering the World is written back by store().
+ *
+ * The node table is bounded.  Once it holds more than the configured number
+ * of nodes, nodes that are no longer part of the universe are dropped and all
+ * memoized futures are forgotten.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ */
+
+public final class HashLife {
+    ///Default Maximum Number of Nodes Held in the Node Table
+    public static final int DEFAULT_MAX_NODES = 1 << 22;
+    ///Deepest Supported Tree Level (Universe Width of 2^MAX_LEVEL Cells)
+    private static final int MAX_LEVEL = 62;
+    ///Smallest Root Level Utilized
+    private static final int MIN_LEVEL = 3;
+
+    /**
+     * Quadtree node.  Level zero nodes are single Cells; a level k node is a
+     * 2^k by 2^k square made up of four level k - 1 quadrants.
+     */
+    private static final class Node {
+        final Node nw;
+        final Node ne;
+        final Node sw;
+        final Node se;
+        final int level;
+        final long population;
+        final int hash;
+        ///Next Node in the Same Hash Bucket
+        Node next;
+        ///Memoized Center of This Node, resultStep Generations Ahead
+        Node result;
+        ///Log2 of the Number of Generations result Is Ahead By
+        int resultStep = -1;
+        ///Collection Epoch in Which This Node Was Last Marked
+        int mark;
+
+        Node(boolean alive) {
+            nw = ne = sw = se = null;
+            level = 0;
+            population = alive ? 1 : 0;
+            hash = alive ? 1 : 0;
+        }
+
+        Node(Node nw, Node ne, Node sw, Node se) {
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            level = nw.level + 1;
+            population = nw.population + ne.population + sw.population +
+                se.population;
+            hash = hash(nw, ne, sw, se);
+        }
+
+        static int hash(Node nw, Node ne, Node sw, Node se) {
+            int h = nw.hash * 0x9E3779B1 + ne.hash * 0x85EBCA77 +
+                sw.hash * 0xC2B2AE3D + se.hash * 0x27D4EB2F;
+            return h ^ (h >>> 15);
+        }
+    }
+
+    ///Flag Indicating if a Moore Neighborhood is Being Utilized
+    private final boolean moore;
+    ///Node Count Above Which Unreachable Nodes Are Collected
+    private final int maxNodes;
+    ///Node Count at Which the Next Collection Happens
+    private int collectAt;
+    ///Canonical Node Table
+    private Node table[] = new Node[1 << 16];
+    ///Number of Nodes in the Node Table
+    private int nodeCount = 0;
+    ///Current Collection Epoch
+    private int epoch = 0;
+    //Canonical Cells
+    private final Node dead = new Node(false);
+    private final Node alive = new Node(true);
+    ///Canonical Empty Node of Every Level
+    private final Node emptyNodes[] = new Node[MAX_LEVEL + 1];
+    ///Root of the Universe
+    private Node root;
+    ///Row of the Root's Top-Left Cell
+    private long originRow = 0;
+    ///Column of the Root's Top-Left Cell
+    private long originColumn = 0;
+    ///Number of Generations Advanced Since the Universe Was Loaded
+    private long generation = 0;
+
+    /**
+     * Constructs a new HashLife universe from the provided Game of Life World,
+     * utilizing the default node table bound.
+     * @param world World whose Cells and neighborhood size will be utilized.
+     */
+    public HashLife(World world) {
+        this(world, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Constructs a new HashLife universe from the provided Game of Life World.
+     * @param world World whose Cells and neighborhood size will be utilized.
+     * @param max Number of nodes the node table may hold before unreachable
+     * nodes and memoized futures are discarded.
+     */
+    public HashLife(World world, int max) {
+        moore = world.getNeighborhoodSize() == World.MOORE;
+        maxNodes = max;
+        collectAt = maxNodes;
+        emptyNodes[0] = dead;
+        load(world);
+    }
+
+    /**
+     * Replaces the universe with the Cells of the provided World.  The World
+     * occupies rows [0, getNumRows()) and columns [0, getNumColumns()) of the
+     * universe; everything else is DEAD.  Resets the generation count.
+     * @param world Game of Life World whose Cells will be utilized.
+     */
+    public void load(World world) {
+        if(!world.getWorldType().equals(World.GOL_WORLD)) {
+            System.err.println("HashLife::load - World Type Error");
+            System.exit(1);
+        }
+        int level = MIN_LEVEL;
+        while((1L << level) < Math.max(world.getNumRows(),
+                    world.getNumColumns())) {
+            ++level;
+        }
+        root = build(world, level, 0, 0);
+        originRow = 0;
+        originColumn = 0;
+        generation = 0;
+    }
+
+    /**
+     * Writes the part of the universe covering the provided World into it.
+     * @param world World whose Cells will be overwritten.
+     */
+    public void store(World world) {
+        final char cells[][] = getViewport(0, 0, world.getNumRows(),
+                world.getNumColumns());
+        for(int i = 0; i < cells.length; ++i) {
+            for(int j = 0; j < cells[i].length; ++j) {
+                world.setCellState(i, j, cells[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Moves the universe forward the specified number of generations.  The
+     * count is broken into power-of-two jumps, each of which is a single
+     * (memoized) step of the quadtree.
+     * @param generations Number of generations to advance.
+     */
+    public void advance(long generations) {
+        while(generations > 0) {
+            final int step = 63 - Long.numberOfLeadingZeros(generations);
+            jump(step);
+            generations -= 1L << step;
+        }
+    }
+
+    /**
+     * Returns the number of generations advanced since the universe was
+     * loaded.
+     * @return Number of generations advanced.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of ALIVE Cells in the universe.
+     * @return Number of ALIVE Cells in the universe.
+     */
+    public long getPopulation() {
+        return root.population;
+    }
+
+    /**
+     * Returns the number of nodes currently held in the node table.
+     * @return Number of nodes in the node table.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the state of the Cell located at the specified row and column.
+     * Coordinates outside the World the universe was loaded from are valid.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return ALIVE or DEAD.
+     */
+    public char getCellState(long row, long column) {
+        long r = row - originRow;
+        long c = column - originColumn;
+        final long width = 1L << root.level;
+        if(r < 0 || c < 0 || r >= width || c >= width) {
+            return World.DEAD;
+        }
+        Node n = root;
+        while(n.level > 0 && n.population != 0) {
+            final long half = 1L << (n.level - 1);
+            final boolean south = r >= half;
+            final boolean east = c >= half;
+            n = south ? (east ? n.se : n.sw) : (east ? n.ne : n.nw);
+            if(south) {
+                r -= half;
+            }
+            if(east) {
+                c -= half;
+            }
+        }
+        return n.population != 0 ? World.ALIVE : World.DEAD;
+    }
+
+    /**
+     * Sets the state of the Cell located at the specified row and column.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @param state ALIVE or DEAD.
+     */
+    public void setCellState(long row, long column, char state) {
+        while(row < originRow || column < originColumn ||
+                row - originRow >= (1L << root.level) ||
+                column - originColumn >= (1L << root.level)) {
+            expand();
+        }
+        root = set(root, row - originRow, column - originColumn,
+                state == World.ALIVE ? alive : dead);
+    }
+
+    /**
+     * Returns the states of a rectangular region of the universe.
+     * @param row Row index (Base zero) of the region's top-left Cell.
+     * @param column Column index (Base zero) of the region's top-left Cell.
+     * @param numRows Number of rows in the region.
+     * @param numColumns Number of columns in the region.
+     * @return States of the region's Cells, indexed [row][column].
+     */
+    public char[][] getViewport(long row, long column, int numRows,
+            int numColumns) {
+        final char cells[][] = new char[numRows][numColumns];
+        for(int i = 0; i < numRows; ++i) {
+            Arrays.fill(cells[i], World.DEAD);
+        }
+        fill(root, originRow, originColumn, cells, row, column);
+        return cells;
+    }
+
+    /**
+     * Marks the ALIVE Cells of a node that fall within a region.
+     * @param n Node being read.
+     * @param r Row of the node's top-left Cell.
+     * @param c Column of the node's top-left Cell.
+     * @param cells Region being filled.
+     * @param row Row of the region's top-left Cell.
+     * @param column Column of the region's top-left Cell.
+     */
+    private void fill(Node n, long r, long c, char cells[][], long row,
+            long column) {
+        final long width = 1L << n.level;
+        if(n.population == 0 || r >= row + cells.length ||
+                c >= column + (cells.length == 0 ? 0 : cells[0].length) ||
+                r + width <= row || c + width <= column) {
+            return;
+        }
+        if(n.level == 0) {
+            cells[(int) (r - row)][(int) (c - column)] = World.ALIVE;
+            return;
+        }
+        final long half = width >>> 1;
+        fill(n.nw, r, c, cells, row, column);
+        fill(n.ne, r, c + half, cells, row, column);
+        fill(n.sw, r + half, c, cells, row, column);
+        fill(n.se, r + half, c + half, cells, row, column);
+    }
+
+    /**
+     * Builds the node covering a square region of the provided World.
+     * @param world World being read.
+     * @param level Level of the node being built.
+     * @param r Row of the region's top-left Cell.
+     * @param c Column of the region's top-left Cell.
+     * @return Canonical node holding the region's Cells.
+     */
+    private Node build(World world, int level, int r, int c) {
+        if(r >= world.getNumRows() || c >= world.getNumColumns()) {
+            return empty(level);
+        }
+        if(level == 0) {
+            return world.getCellState(r, c) == World.ALIVE ? alive : dead;
+        }
+        final int half = 1 << (level - 1);
+        return join(build(world, level - 1, r, c),
+                build(world, level - 1, r, c + half),
+                build(world, level - 1, r + half, c),
+                build(world, level - 1, r + half, c + half));
+    }
+
+    /**
+     * Returns a copy of a node with a single Cell replaced.
+     * @param n Node being modified.
+     * @param r Row of the Cell relative to the node's top-left Cell.
+     * @param c Column of the Cell relative to the node's top-left Cell.
+     * @param cell Replacement Cell.
+     * @return Canonical node holding the modification.
+     */
+    private Node set(Node n, long r, long c, Node cell) {
+        if(n.level == 0) {
+            return cell;
+        }
+        final long half = 1L << (n.level - 1);
+        if(r < half) {
+            if(c < half) {
+                return join(set(n.nw, r, c, cell), n.ne, n.sw, n.se);
+            }
+            return join(n.nw, set(n.ne, r, c - half, cell), n.sw, n.se);
+        }
+        if(c < half) {
+            return join(n.nw, n.ne, set(n.sw, r - half, c, cell), n.se);
+        }
+        return join(n.nw, n.ne, n.sw, set(n.se, r - half, c - half, cell));
+    }
+
+    /**
+     * Advances the universe 2^step generations.
+     * @param step Log2 of the number of generations to advance.
+     */
+    private void jump(int step) {
+        //The root's future center is only complete if no Cell can escape it,
+        //so the pattern has to sit within the root's central sixteenth.
+        while(root.level < step + 3 ||
+                center(center(root)).population != root.population) {
+            expand();
+        }
+        final long quarter = 1L << (root.level - 2);
+        root = successor(root, step);
+        originRow += quarter;
+        originColumn += quarter;
+        generation += 1L << step;
+    }
+
+    /**
+     * Surrounds the root with empty space, doubling the universe's width.
+     */
+    private void expand() {
+        if(root.level >= MAX_LEVEL) {
+            System.err.println("HashLife::expand - Universe Too Large");
+            System.exit(1);
+        }
+        final Node e = empty(root.level - 1);
+        final long quarter = 1L << (root.level - 1);
+        root = join(join(e, e, e, root.nw), join(e, e, root.ne, e),
+                join(e, root.sw, e, e), join(root.se, e, e, e));
+        originRow -= quarter;
+        originColumn -= quarter;
+    }
+
+    /**
+     * Returns the center of a level k node, 2^step generations ahead.
+     * @param n Node of level k (k >= 2).
+     * @param step Log2 of the number of generations (step <= k - 2).
+     * @return Canonical level k - 1 node.
+     */
+    private Node successor(Node n, int step) {
+        if(n.population == 0) {
+            return empty(n.level - 1);
+        }
+        if(n.result != null && n.resultStep == step) {
+            return n.result;
+        }
+        Node result;
+        if(n.level == 2) {
+            result = evolveBase(n);
+        }
+        else {
+            final boolean full = step == n.level - 2;
+            final Node n00 = n.nw;
+            final Node n01 = join(n.nw.ne, n.ne.nw, n.nw.se, n.ne.sw);
+            final Node n02 = n.ne;
+            final Node n10 = join(n.nw.sw, n.nw.se, n.sw.nw, n.sw.ne);
+            final Node n11 = center(n);
+            final Node n12 = join(n.ne.sw, n.ne.se, n.se.nw, n.se.ne);
+            final Node n20 = n.sw;
+            final Node n21 = join(n.sw.ne, n.se.nw, n.sw.se, n.se.sw);
+            final Node n22 = n.se;
+            //With a full step, both halves of the jump advance the Cells;
+            //otherwise the first half only re-centers them.
+            final int half = n.level - 3;
+            final Node c00 = full ? successor(n00, half) : center(n00);
+            final Node c01 = full ? successor(n01, half) : center(n01);
+            final Node c02 = full ? successor(n02, half) : center(n02);
+            final Node c10 = full ? successor(n10, half) : center(n10);
+            final Node c11 = full ? successor(n11, half) : center(n11);
+            final Node c12 = full ? successor(n12, half) : center(n12);
+            final Node c20 = full ? successor(n20, half) : center(n20);
+            final Node c21 = full ? successor(n21, half) : center(n21);
+            final Node c22 = full ? successor(n22, half) : center(n22);
+            final int next = full ? half : step;
+            result = join(successor(join(c00, c01, c10, c11), next),
+                    successor(join(c01, c02, c11, c12), next),
+                    successor(join(c10, c11, c20, c21), next),
+                    successor(join(c11, c12, c21, c22), next));
+        }
+        n.result = result;
+        n.resultStep = step;
+        return result;
+    }
+
+    /**
+     * Evolves the center of a 4 by 4 node one generation.
+     * @param n Level two node.
+     * @return Canonical level one node.
+     */
+    private Node evolveBase(Node n) {
+        //Bit (4 * row + column) holds the Cell at row, column.
+        int bits = 0;
+        final Node quadrants[] = {n.nw, n.ne, n.sw, n.se};
+        for(int q = 0; q < 4; ++q) {
+            final Node cells[] = {quadrants[q].nw, quadrants[q].ne,
+                quadrants[q].sw, quadrants[q].se};
+            for(int k = 0; k < 4; ++k) {
+                if(cells[k].population != 0) {
+                    final int row = (q >>> 1) * 2 + (k >>> 1);
+                    final int column = (q & 1) * 2 + (k & 1);
+                    bits |= 1 << (4 * row + column);
+                }
+            }
+        }
+        return join(evolveCell(bits, 1, 1), evolveCell(bits, 1, 2),
+                evolveCell(bits, 2, 1), evolveCell(bits, 2, 2));
+    }
+
+    /**
+     * Applies the Game of Life rules to one interior Cell of a 4 by 4 block.
+     * @param bits Block Cells; bit (4 * row + column) holds row, column.
+     * @param row Row of the Cell within the block.
+     * @param column Column of the Cell within the block.
+     * @return Canonical Cell holding the Cell's next state.
+     */
+    private Node evolveCell(int bits, int row, int column) {
+        int count = 0;
+        for(int dr = -1; dr <= 1; ++dr) {
+            for(int dc = -1; dc <= 1; ++dc) {
+                if((dr == 0 && dc == 0) || (!moore && dr != 0 && dc != 0)) {
+                    continue;
+                }
+                count += (bits >>> (4 * (row + dr) + column + dc)) & 1;
+            }
+        }
+        final boolean isAlive = ((bits >>> (4 * row + column)) & 1) != 0;
+        return count == 3 || (isAlive && count == 2) ? alive : dead;
+    }
+
+    /**
+     * Returns the central half of a node.
+     * @param n Node of level k (k >= 2).
+     * @return Canonical level k - 1 node.
+     */
+    private Node center(Node n) {
+        return join(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw);
+    }
+
+    /**
+     * Returns the canonical empty node of the specified level.
+     * @param level Node level.
+     * @return Canonical empty node.
+     */
+    private Node empty(int level) {
+        if(emptyNodes[level] == null) {
+            final Node e = empty(level - 1);
+            emptyNodes[level] = join(e, e, e, e);
+        }
+        return emptyNodes[level];
+    }
+
+    /**
+     * Returns the canonical node made up of the specified quadrants, creating
+     * it if necessary.
+     * @return Canonical node.
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+        final int hash = Node.hash(nw, ne, sw, se);
+        int bucket = hash & (table.length - 1);
+        for(Node n = table[bucket]; n != null; n = n.next) {
+            if(n.nw == nw && n.ne == ne && n.sw == sw && n.se == se) {
+                return n;
+            }
+        }
+        final Node n = new Node(nw, ne, sw, se);
+        if(nodeCount >= collectAt) {
+            collect();
+        }
+        if(nodeCount >= table.length - (table.length >>> 2)) {
+            rehash(table.length << 1);
+        }
+        bucket = hash & (table.length - 1);
+        n.next = table[bucket];
+        table[bucket] = n;
+        ++nodeCount;
+        return n;
+    }
+
+    /**
+     * Discards every node that is no longer part of the universe, along with
+     * all memoized futures.  Nodes that are part of a step in progress stay
+     * valid; they are simply no longer shared.
+     */
+    private void collect() {
+        ++epoch;
+        final ArrayList<Node> live = new ArrayList<Node>();
+        final ArrayList<Node> pending = new ArrayList<Node>();
+        pending.add(root);
+        for(int level = 1; level <= MAX_LEVEL; ++level) {
+            if(emptyNodes[level] != null) {
+                pending.add(emptyNodes[level]);
+            }
+        }
+        while(!pending.isEmpty()) {
+            final Node n = pending.remove(pending.size() - 1);
+            if(n == null || n.level == 0 || n.mark == epoch) {
+                continue;
+            }
+            n.mark = epoch;
+            n.result = null;
+            n.resultStep = -1;
+            live.add(n);
+            pending.add(n.nw);
+            pending.add(n.ne);
+            pending.add(n.sw);
+            pending.add(n.se);
+        }
+        Arrays.fill(table, null);
+        nodeCount = 0;
+        for(Node n : live) {
+            final int bucket = n.hash & (table.length - 1);
+            n.next = table[bucket];
+            table[bucket] = n;
+            ++nodeCount;
+        }
+        //Should the universe itself need most of the table, collecting again
+        //right away would not free anything.
+        collectAt = Math.max(maxNodes, nodeCount * 2);
+    }
+
+    /**
+     * Resizes the node table.
+     * @param size New number of buckets (a power of two).
+     */
+    private void rehash(int size) {
+        final Node old[] = table;
+        table = new Node[size];
+        for(int b = 0; b < old.length; ++b) {
+            Node n = old[b];
+            while(n != null) {
+                final Node next = n.next;
+                final int bucket = n.hash & (size - 1);
+                n.next = table[bucket];
+                table[bucket] = n;
+                n = next;
+            }
+        }
+    }
+}
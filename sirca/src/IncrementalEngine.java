@@ -0,0 +1,235 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.util.Arrays;
+
+/**
+ * Engine keeping every Cell's neighbor counts as persistent state.  Each
+ * Cell has a packed count word, one byte lane per counted state (see
+ * World.STATE_LANES), maintained incrementally: when a Cell changes state,
+ * the words of its 4 or 8 neighbors are adjusted.  A generation only
+ * evaluates the Cells on the worklist, that is, Cells whose own state or
+ * whose neighbor counts changed in the previous generation (plus CARRIER_I
+ * Cells still too young to recover), since any other Cell would make the
+ * same choice as last time and keep its state.  When only a small fraction
+ * of the Cells change per generation, so does the work.
+ *
+ * Transitions come from the World's compiled transition table.  Ages are
+ * kept as stamps, as in the World: Cells in states that age hold the engine
+ * generation at which their age was zero.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ */
+
+final class IncrementalEngine implements WorldEngine {
+    ///Number of Cell Rows
+    private final int rows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Flag Indicating if a Moore Neighborhood is Being Utilized
+    private final boolean moore;
+    ///Compiled Transition Table (See World.compileRules)
+    private final int rules[];
+    ///Neighbor Count Lanes Read by the Rules of Each State
+    private final long ruleLanes[] = new long[256];
+    ///States Whose Cells Grow One Generation Older Every Generation
+    private final boolean stamped[] = new boolean[256];
+    ///Current Cell States (Row-Major, One Character Code Per Cell)
+    private final byte state[];
+    ///Cell Age Stamps (Row-Major)
+    private final int stamps[];
+    ///Packed Neighbor Counts of Every Cell (Row-Major)
+    private final long counts[];
+    ///Cells to Evaluate and State Changes of Each Generation
+    private final Worklist worklist;
+    ///Number of Generations Evolved Since the Engine Was Loaded
+    private int generation = 0;
+    ///Number of New Infections Produced By the Last Generation
+    private int newInfections = 0;
+
+    /**
+     * Constructs a new IncrementalEngine utilizing the World type's default
+     * rules.
+     * @param r Number of Cell rows.
+     * @param c Number of Cell columns.
+     * @param nSize Neighborhood size (VON_NEUMANN or MOORE).
+     * @param wType World type.
+     * @param births Whether births are considered.
+     * @param carriers Whether Carrier Cells are considered.
+     */
+    IncrementalEngine(int r, int c, int nSize, String wType, boolean births,
+            boolean carriers) {
+        rows = r;
+        columns = c;
+        moore = nSize == World.MOORE;
+        rules = World.compileRules(wType, births, carriers, null, ruleLanes);
+        //A state ages if its Cells grow older while keeping it.
+        for(int s = 0; s < 256; ++s) {
+            for(int x = 0; x < 32; ++x) {
+                final int rule = rules[s << 5 | x];
+                if((rule & 0xFF) == s &&
+                        (rule & World.AGE_GROW) == World.AGE_GROW) {
+                    stamped[s] = true;
+                }
+            }
+        }
+        final int cells = rows * columns;
+        state = new byte[cells];
+        stamps = new int[cells];
+        counts = new long[cells];
+        worklist = new Worklist(cells, cells);
+    }
+
+    /**
+     * @see WorldEngine#load(byte[], int[])
+     */
+    public boolean load(byte state[], int ages[]) {
+        System.arraycopy(state, 0, this.state, 0, state.length);
+        generation = 0;
+        Arrays.fill(counts, 0L);
+        for(int k = 0; k < state.length; ++k) {
+            stamps[k] = stamped[state[k] & 0xFF] ? -ages[k] : ages[k];
+            addToNeighbors(k, World.STATE_LANES[state[k] & 0xFF]);
+        }
+        //Every Cell is evaluated first; nothing is queued beyond that yet.
+        worklist.clear();
+        for(int k = 0; k < state.length; ++k) {
+            worklist.queue(k);
+        }
+        worklist.swap();
+        return true;
+    }
+
+    /**
+     * @see WorldEngine#store(byte[], int[])
+     */
+    public void store(byte state[], int ages[]) {
+        System.arraycopy(this.state, 0, state, 0, state.length);
+        for(int k = 0; k < state.length; ++k) {
+            ages[k] = stamped[state[k] & 0xFF] ? generation - stamps[k] :
+                stamps[k];
+        }
+    }
+
+    /**
+     * Evaluates the Cells on the worklist against the current generation,
+     * then applies the state changes, adjusting the neighbors' counts and
+     * gathering the next worklist.
+     * @see WorldEngine#step(int[])
+     */
+    public int step(int transitions[]) {
+        newInfections = 0;
+        for(int w = 0; w < worklist.size(); ++w) {
+            final int k = worklist.get(w);
+            final int s = state[k] & 0xFF;
+            final int stamp = stamps[k];
+            final int age = stamped[s] ? generation - stamp : stamp;
+            final int rule = World.nextRule(rules, ruleLanes, s, counts[k],
+                    age);
+            final int futureAge = World.futureAge(rule, age);
+            final int futureStamp = stamped[rule & 0xFF] ?
+                generation + 1 - futureAge : futureAge;
+            if(futureStamp != stamp) {
+                stamps[k] = futureStamp;
+            }
+            if((rule & 0xFF) != s) {
+                worklist.change(k, (byte) rule);
+            }
+            if((rule & World.RULE_CHANGED) != 0) {
+                ++transitions[(rule >>> World.TRANSITION_SHIFT) & 7];
+                newInfections += (rule >>> 14) & 1;
+            }
+            if((rule & World.RULE_AGING_CARRIER) != 0 &&
+                    futureAge <= World.CARRIER_TSBE) {
+                worklist.queue(k);
+            }
+        }
+        final int changes = worklist.changes();
+        for(int x = 0; x < changes; ++x) {
+            final int k = worklist.changedCell(x);
+            final byte next = worklist.changedState(x);
+            final long from = World.STATE_LANES[state[k] & 0xFF];
+            final long to = World.STATE_LANES[next & 0xFF];
+            state[k] = next;
+            worklist.queue(k);
+            if(from != to) {
+                addToNeighbors(k, to - from);
+            }
+        }
+        worklist.swap();
+        ++generation;
+        return changes;
+    }
+
+    /**
+     * Adds a lane difference to the counts of a Cell's neighbors and queues
+     * them for the next generation.  Neighbors that lie outside valid bounds
+     * do not exist.
+     * @param k Cell index.
+     * @param delta Lane difference (may borrow across lanes, but every lane
+     * of the resulting counts is non-negative).
+     */
+    private void addToNeighbors(int k, long delta) {
+        final int i = k / columns;
+        final int j = k - i * columns;
+        for(int r = Math.max(0, i - 1); r <= Math.min(rows - 1, i + 1); ++r) {
+            for(int c = Math.max(0, j - 1);
+                    c <= Math.min(columns - 1, j + 1); ++c) {
+                if((r == i && c == j) || (!moore && r != i && c != j)) {
+                    continue;
+                }
+                final int neighbor = r * columns + c;
+                counts[neighbor] += delta;
+                worklist.queue(neighbor);
+            }
+        }
+    }
+
+    /**
+     * @see WorldEngine#getNewInfectionCount()
+     */
+    public int getNewInfectionCount() {
+        return newInfections;
+    }
+
+    /**
+     * @see WorldEngine#getCellState(int, int)
+     */
+    public char getCellState(int row, int column) {
+        return (char) state[row * columns + column];
+    }
+
+    /**
+     * Returns the number of neighbors of the specified Cell in the specified
+     * state, read from the count planes.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @param s A counted state (one with a lane in World.STATE_LANES).
+     * @return Number of neighbors in the state.
+     */
+    int getNeighborCount(int row, int column, char s) {
+        final int lane = Long.numberOfTrailingZeros(World.STATE_LANES[s]);
+        return (int) (counts[row * columns + column] >>> lane) & 0xFF;
+    }
+}
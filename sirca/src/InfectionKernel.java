@@ -0,0 +1,289 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.util.Arrays;
+
+/**
+ * Distance-weighted infection kernel.  The infection pressure on a Cell is
+ * the sum of the kernel's weights over the infectious Cells around it, the
+ * kernel's center lying on the Cell itself, so that a kernel decaying with
+ * distance (Gaussian or power-law dispersal, say) lets far Cells infect
+ * less than near ones.  Small kernels are applied directly; larger ones are
+ * applied by convolving the plane of infectious Cells with the kernel
+ * through a two-dimensional FFT, whose cost does not grow with the kernel.
+ * The kernel's spectrum is computed once and reused every generation.
+ * Cells beyond the World's edges are taken as the World's boundary
+ * condition defines them, through the row and column maps the World
+ * supplies.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see World#setInfectionKernel(double[][])
+ */
+
+final class InfectionKernel {
+    ///Number of Cell Rows
+    private final int rows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Number of Kernel Rows Above (and Below) the Center
+    private final int halfHeight;
+    ///Number of Kernel Columns Left (and Right) of the Center
+    private final int halfWidth;
+    ///Number of Rows and Columns the Kernel Reaches From Its Center
+    private final int reach;
+    ///Kernel Weights (Row-Major)
+    private final double weights[];
+    ///Flag Indicating if the Kernel Is Applied Directly Rather Than by FFT
+    private final boolean direct;
+    ///Number of Rows of the Padded World (Halo Included)
+    private final int paddedRows;
+    ///Number of Columns of the Padded World (Halo Included)
+    private final int paddedColumns;
+    ///Infectious Cells of the Padded World, One Per Cell (Row-Major)
+    private final double padded[];
+    ///Number of FFT Rows (a Power of Two)
+    private final int fftRows;
+    ///Number of FFT Columns (a Power of Two)
+    private final int fftColumns;
+    ///Real Part of the Kernel's Spectrum
+    private double kernelReal[];
+    ///Imaginary Part of the Kernel's Spectrum
+    private double kernelImaginary[];
+    ///Real Part of the Plane Being Transformed
+    private double real[];
+    ///Imaginary Part of the Plane Being Transformed
+    private double imaginary[];
+
+    /**
+     * Constructs a new InfectionKernel.
+     * @param kernel Kernel weights, with an odd number of rows and columns.
+     * @param r Number of Cell rows.
+     * @param c Number of Cell columns.
+     */
+    InfectionKernel(double kernel[][], int r, int c) {
+        rows = r;
+        columns = c;
+        halfHeight = kernel.length / 2;
+        halfWidth = kernel[0].length / 2;
+        reach = Math.max(halfHeight, halfWidth);
+        final int height = 2 * halfHeight + 1;
+        final int width = 2 * halfWidth + 1;
+        weights = new double[height * width];
+        int taps = 0;
+        for(int a = 0; a < height; ++a) {
+            for(int b = 0; b < width; ++b) {
+                weights[a * width + b] = kernel[a][b];
+                if(kernel[a][b] != 0.0) {
+                    ++taps;
+                }
+            }
+        }
+        paddedRows = rows + 2 * reach;
+        paddedColumns = columns + 2 * reach;
+        padded = new double[paddedRows * paddedColumns];
+        fftRows = Integer.highestOneBit(paddedRows * 2 - 1);
+        fftColumns = Integer.highestOneBit(paddedColumns * 2 - 1);
+        //A direct pass costs a multiply-add per tap and Cell, while a
+        //transform costs a few per point and level, forward and back.
+        final int levels = Integer.numberOfTrailingZeros(fftRows) +
+            Integer.numberOfTrailingZeros(fftColumns);
+        direct = (long) taps * rows * columns <=
+            4L * fftRows * fftColumns * Math.max(levels, 1);
+        if(!direct) {
+            //Correlating with the kernel is convolving with it flipped.
+            kernelReal = new double[fftRows * fftColumns];
+            kernelImaginary = new double[fftRows * fftColumns];
+            for(int a = 0; a < height; ++a) {
+                for(int b = 0; b < width; ++b) {
+                    kernelReal[(height - 1 - a) * fftColumns + width - 1 - b] =
+                        weights[a * width + b];
+                }
+            }
+            transform(kernelReal, kernelImaginary, false);
+            real = new double[fftRows * fftColumns];
+            imaginary = new double[fftRows * fftColumns];
+        }
+    }
+
+    /**
+     * Returns the number of rows or columns (whichever is more) the kernel
+     * reaches from its center, which is also the width of the halo padding
+     * the World.
+     * @return Kernel reach.
+     */
+    int getReach() {
+        return reach;
+    }
+
+    /**
+     * Computes the infection pressure on every Cell.
+     * @param state Current Cell states (Row-Major).
+     * @param lanes Lanes (see World.STATE_LANES) of the infectious states.
+     * @param rowMap Row standing in for each padded row (reach rows above
+     * the World first), or -1 if it is never counted.
+     * @param columnMap Column standing in for each padded column, or -1.
+     * @param pressure Receives the pressure on each Cell (Row-Major).
+     */
+    void convolve(byte state[], long lanes, int rowMap[], int columnMap[],
+            double pressure[]) {
+        for(int y = 0; y < paddedRows; ++y) {
+            final int i = rowMap[y];
+            for(int x = 0; x < paddedColumns; ++x) {
+                final int j = columnMap[x];
+                padded[y * paddedColumns + x] = i >= 0 && j >= 0 &&
+                    (World.STATE_LANES[state[i * columns + j] & 0xFF] &
+                     lanes) != 0L ? 1.0 : 0.0;
+            }
+        }
+        if(direct) {
+            convolveDirect(pressure);
+        }
+        else {
+            convolveSpectral(pressure);
+        }
+    }
+
+    /**
+     * Applies the kernel tap by tap.
+     * @param pressure Receives the pressure on each Cell (Row-Major).
+     */
+    private void convolveDirect(double pressure[]) {
+        Arrays.fill(pressure, 0.0);
+        final int width = 2 * halfWidth + 1;
+        for(int a = 0; a < weights.length / width; ++a) {
+            for(int b = 0; b < width; ++b) {
+                final double w = weights[a * width + b];
+                if(w == 0.0) {
+                    continue;
+                }
+                for(int i = 0; i < rows; ++i) {
+                    final int source = (i + reach - halfHeight + a) *
+                        paddedColumns + reach - halfWidth + b;
+                    final int target = i * columns;
+                    for(int j = 0; j < columns; ++j) {
+                        pressure[target + j] += w * padded[source + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the kernel by multiplying the spectra of the padded World and
+     * of the (flipped) kernel.  The transforms are large enough that no sum
+     * wraps around into another Cell's.
+     * @param pressure Receives the pressure on each Cell (Row-Major).
+     */
+    private void convolveSpectral(double pressure[]) {
+        Arrays.fill(real, 0.0);
+        Arrays.fill(imaginary, 0.0);
+        for(int y = 0; y < paddedRows; ++y) {
+            System.arraycopy(padded, y * paddedColumns, real, y * fftColumns,
+                    paddedColumns);
+        }
+        transform(real, imaginary, false);
+        for(int k = 0; k < real.length; ++k) {
+            final double re = real[k] * kernelReal[k] -
+                imaginary[k] * kernelImaginary[k];
+            imaginary[k] = real[k] * kernelImaginary[k] +
+                imaginary[k] * kernelReal[k];
+            real[k] = re;
+        }
+        transform(real, imaginary, true);
+        final double scale = 1.0 / ((double) fftRows * fftColumns);
+        for(int i = 0; i < rows; ++i) {
+            final int source = (i + reach + halfHeight) * fftColumns +
+                reach + halfWidth;
+            for(int j = 0; j < columns; ++j) {
+                pressure[i * columns + j] = real[source + j] * scale;
+            }
+        }
+    }
+
+    /**
+     * Transforms a plane of fftRows by fftColumns points in place: every row,
+     * then every column.  The inverse transform is left unscaled.
+     * @param re Real parts (Row-Major).
+     * @param im Imaginary parts (Row-Major).
+     * @param inverse Whether the inverse transform is computed.
+     */
+    private void transform(double re[], double im[], boolean inverse) {
+        for(int i = 0; i < fftRows; ++i) {
+            fft(re, im, i * fftColumns, 1, fftColumns, inverse);
+        }
+        for(int j = 0; j < fftColumns; ++j) {
+            fft(re, im, j, fftColumns, fftRows, inverse);
+        }
+    }
+
+    /**
+     * Iterative radix-2 FFT of a strided run of points, in place.
+     * @param re Real parts.
+     * @param im Imaginary parts.
+     * @param offset Index of the first point.
+     * @param stride Distance between consecutive points.
+     * @param n Number of points (a power of two).
+     * @param inverse Whether the inverse transform is computed.
+     */
+    private static void fft(double re[], double im[], int offset, int stride,
+            int n, boolean inverse) {
+        final int bits = Integer.numberOfTrailingZeros(n);
+        for(int k = 1; k < n; ++k) {
+            final int r = Integer.reverse(k) >>> (32 - bits);
+            if(r > k) {
+                final int p = offset + k * stride;
+                final int q = offset + r * stride;
+                double t = re[p];
+                re[p] = re[q];
+                re[q] = t;
+                t = im[p];
+                im[p] = im[q];
+                im[q] = t;
+            }
+        }
+        for(int size = 2; size <= n; size <<= 1) {
+            final double angle = (inverse ? 2.0 : -2.0) * Math.PI / size;
+            final double stepRe = Math.cos(angle);
+            final double stepIm = Math.sin(angle);
+            final int half = size >>> 1;
+            for(int start = 0; start < n; start += size) {
+                double wRe = 1.0;
+                double wIm = 0.0;
+                for(int k = 0; k < half; ++k) {
+                    final int p = offset + (start + k) * stride;
+                    final int q = p + half * stride;
+                    final double tRe = re[q] * wRe - im[q] * wIm;
+                    final double tIm = re[q] * wIm + im[q] * wRe;
+                    re[q] = re[p] - tRe;
+                    im[q] = im[p] - tIm;
+                    re[p] += tRe;
+                    im[p] += tIm;
+                    final double nextRe = wRe * stepRe - wIm * stepIm;
+                    wIm = wRe * stepIm + wIm * stepRe;
+                    wRe = nextRe;
+                }
+            }
+        }
+    }
+}
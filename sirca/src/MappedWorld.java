@@ -0,0 +1,714 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A World that lives in a memory-mapped file rather than in memory, for
+ * Worlds larger than the machine's RAM.  The file holds a small header and
+ * two planes of Cell states and ages: the current generation and the next
+ * one.  Each generation streams over the current plane with a three-row
+ * window, writes the next plane row by row and flushes its pages back in
+ * file order as it goes, so the cost of a generation is mostly sequential
+ * I/O.
+ *
+ * The header names the plane holding the last completed generation, and is
+ * only rewritten once the other plane is entirely on disk, so a run that
+ * dies part way through a generation resumes from the last completed one
+ * when the file is opened again with MappedWorld(String).
+ *
+ * Cells evolve exactly as in a World (the same compiled transition table is
+ * utilized).  Neighbors that lie outside valid bounds are never counted.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see World
+ */
+
+public final class MappedWorld implements AutoCloseable {
+    ///Identifies MappedWorld Files ("SIRM")
+    private static final int MAGIC = 0x5349524D;
+    ///Header Field Offsets
+    private static final int MAGIC_OFFSET = 0;
+    private static final int ROWS_OFFSET = 4;
+    private static final int COLUMNS_OFFSET = 8;
+    private static final int TYPE_OFFSET = 12;
+    private static final int NEIGHBORHOOD_OFFSET = 16;
+    private static final int FLAGS_OFFSET = 20;
+    private static final int GENERATION_OFFSET = 24;
+    private static final int PLANE_OFFSET = 28;
+    private static final int INFECTIONS_OFFSET = 32;
+    private static final int CHANGES_OFFSET = 40;
+    private static final int TRANSITIONS_OFFSET = 48;
+    ///Header Size in Bytes (Planes Follow It)
+    private static final int HEADER_SIZE = 128;
+    ///Header Flag Bits
+    private static final int BIRTHS_FLAG = 1;
+    private static final int CARRIERS_FLAG = 2;
+    private static final int STAGNANT_FLAG = 4;
+    ///Largest Mapping in Bytes (Mappings Are Limited to 2^31 - 1 Bytes)
+    private static final int MAX_MAPPING = 1 << 30;
+
+    ///Channel of the World File
+    private final FileChannel channel;
+    ///Mapped Header
+    private final MappedByteBuffer header;
+    ///Cell States of Both Planes, Mapped a Chunk of Rows at a Time
+    private final MappedByteBuffer states[][];
+    ///Cell Ages of Both Planes, Mapped a Chunk of Rows at a Time
+    private final MappedByteBuffer ages[][];
+    ///Int Views of ages
+    private final IntBuffer ageInts[][];
+    ///Number of Rows per Chunk
+    private final int chunkRows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Number of Cell Rows
+    private final int rows;
+    ///String Representing Current World Type, Either: "SIR" or "GOL"
+    private final String worldType;
+    ///Plane Holding the Current Generation (0 or 1)
+    private int plane;
+    ///Number of Generations Passed
+    private int age;
+    ///Number of New Infections Produced
+    private long numInfections;
+    ///Number of Cells Whose State Changed in the Last Generation
+    private long changes;
+    ///Flag Indicating if World Has Reached Equilibrium
+    private boolean stagnant;
+    ///Current Neighborhood Size Being Utilized
+    private int neighborhoodSize;
+    ///Flag Indicating if Births Are Considered in Evolution Algorithm
+    private boolean allowBirths;
+    ///Flag Indicating if Carriers Are Considered in Evolution Algorithm
+    private boolean allowCarriers;
+    ///Number of Cells of Each Transition Produced by the Last Generation
+    private final long transitions[] = new long[World.TRANSITIONS];
+    ///Rule Utilized by the Last Generation, or null for the Default Rules
+    private Rule sweepRule = null;
+    ///Compiled Transition Table, or null Until the Next evolve() Compiles It
+    private int rules[] = null;
+    ///Neighbor Count Lanes Read by the Rules of Each State
+    private final long ruleLanes[] = new long[256];
+    ///Cell States of the Three Rows in the Window
+    private byte windowStates[][];
+    ///Lane Values of the Three Rows in the Window
+    private long windowLanes[][];
+    ///Per-Column Lane Sums of the Row Being Evolved and Its Neighbors
+    private final long columnSums[];
+    ///Packed Neighbor Counts of the Row Being Evolved
+    private final long neighborCounts[];
+    ///Ages of the Row Being Evolved
+    private final int rowAges[];
+    ///Future States and Ages of the Row Being Evolved
+    private final byte futureStates[];
+    private final int futureAges[];
+
+    /**
+     * Creates a new World file (replacing any existing file of that name).
+     * SIR Worlds start out EMPTY and GOL Worlds DEAD, with every Cell at age
+     * zero.
+     * @param fileName Name of the World file.
+     * @param r Number of cell rows that the world will contain.
+     * @param c Number of cell columns that the world will contain.
+     * @param wType World Type (Supported Types: "SIR" or "GOL").
+     * @param nSize Initial neighborhood size
+     * (Supported Types: VON_NEUMANN, MOORE).
+     */
+    public MappedWorld(String fileName, int r, int c, String wType,
+            int nSize) {
+        if(!wType.equals(World.SIR_WORLD) && !wType.equals(World.GOL_WORLD)) {
+            System.err.println("MappedWorld::Error While Initializing " +
+                    "World Type");
+            System.exit(1);
+        }
+        rows = r;
+        columns = c;
+        worldType = wType;
+        neighborhoodSize = nSize;
+        chunkRows = chunkRows(c);
+        channel = open(fileName, true);
+        header = map(0, HEADER_SIZE);
+        states = new MappedByteBuffer[2][];
+        ages = new MappedByteBuffer[2][];
+        ageInts = new IntBuffer[2][];
+        mapPlanes();
+        header.putInt(MAGIC_OFFSET, MAGIC);
+        header.putInt(ROWS_OFFSET, rows);
+        header.putInt(COLUMNS_OFFSET, columns);
+        header.putInt(TYPE_OFFSET, wType.equals(World.GOL_WORLD) ? 1 : 0);
+        reset(wType.equals(World.GOL_WORLD) ? World.DEAD : World.EMPTY);
+        columnSums = new long[columns + 2];
+        neighborCounts = new long[columns];
+        rowAges = new int[columns];
+        futureStates = new byte[columns];
+        futureAges = new int[columns];
+    }
+
+    /**
+     * Opens an existing World file, resuming from the last generation that
+     * was completely written to it.
+     * @param fileName Name of the World file.
+     */
+    public MappedWorld(String fileName) {
+        final File file = new File(fileName);
+        if(!file.isFile() || file.length() < HEADER_SIZE) {
+            System.err.println("MappedWorld::MappedWorld - Not a World File: " +
+                    fileName);
+            System.exit(1);
+        }
+        channel = open(fileName, false);
+        header = map(0, HEADER_SIZE);
+        if(header.getInt(MAGIC_OFFSET) != MAGIC) {
+            System.err.println("MappedWorld::MappedWorld - Not a World File: " +
+                    fileName);
+            System.exit(1);
+        }
+        rows = header.getInt(ROWS_OFFSET);
+        columns = header.getInt(COLUMNS_OFFSET);
+        worldType = header.getInt(TYPE_OFFSET) == 1 ? World.GOL_WORLD :
+            World.SIR_WORLD;
+        neighborhoodSize = header.getInt(NEIGHBORHOOD_OFFSET);
+        final int flags = header.getInt(FLAGS_OFFSET);
+        allowBirths = (flags & BIRTHS_FLAG) != 0;
+        allowCarriers = (flags & CARRIERS_FLAG) != 0;
+        stagnant = (flags & STAGNANT_FLAG) != 0;
+        age = header.getInt(GENERATION_OFFSET);
+        plane = header.getInt(PLANE_OFFSET);
+        numInfections = header.getLong(INFECTIONS_OFFSET);
+        changes = header.getLong(CHANGES_OFFSET);
+        for(int x = 0; x < World.TRANSITIONS; ++x) {
+            transitions[x] = header.getLong(TRANSITIONS_OFFSET +
+                    x * Long.BYTES);
+        }
+        if(file.length() < HEADER_SIZE + 2 * planeBytes(rows, columns)) {
+            System.err.println("MappedWorld::MappedWorld - Truncated World " +
+                    "File: " + fileName);
+            System.exit(1);
+        }
+        chunkRows = chunkRows(columns);
+        states = new MappedByteBuffer[2][];
+        ages = new MappedByteBuffer[2][];
+        ageInts = new IntBuffer[2][];
+        mapPlanes();
+        columnSums = new long[columns + 2];
+        neighborCounts = new long[columns];
+        rowAges = new int[columns];
+        futureStates = new byte[columns];
+        futureAges = new int[columns];
+    }
+
+    /**
+     * Returns the number of rows mapped at a time, so that no mapping of ages
+     * exceeds MAX_MAPPING bytes.
+     * @param c Number of cell columns.
+     * @return Number of rows per chunk.
+     */
+    private static int chunkRows(int c) {
+        return Math.max(1, MAX_MAPPING / (c * Integer.BYTES));
+    }
+
+    /**
+     * Opens the channel of a World file.
+     * @param fileName Name of the World file.
+     * @param create Whether the file is to be created (or truncated).
+     * @return Channel of the World file.
+     */
+    private static FileChannel open(String fileName, boolean create) {
+        try {
+            final RandomAccessFile file = new RandomAccessFile(fileName, "rw");
+            if(create) {
+                file.setLength(0);
+            }
+            return file.getChannel();
+        }
+        catch(IOException e) {
+            System.err.println("MappedWorld::open - I/O Error: " +
+                    e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Maps a region of the World file, growing the file as needed.
+     * @param position Offset of the region in bytes.
+     * @param size Size of the region in bytes.
+     * @return Mapped region.
+     */
+    private MappedByteBuffer map(long position, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        }
+        catch(IOException e) {
+            System.err.println("MappedWorld::map - I/O Error: " +
+                    e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the size of a plane in bytes: all of its states, padded to a
+     * multiple of eight bytes, followed by all of its ages.
+     * @param r Number of cell rows.
+     * @param c Number of cell columns.
+     * @return Size of a plane in bytes.
+     */
+    private static long planeBytes(int r, int c) {
+        final long cells = (long) r * c;
+        return ((cells + 7) & ~7L) + cells * Integer.BYTES;
+    }
+
+    /**
+     * Maps the states and ages of both planes, a chunk of rows at a time.
+     * Each plane holds all of its states followed by all of its ages.
+     */
+    private void mapPlanes() {
+        final long cells = (long) rows * columns;
+        final long stateBytes = (cells + 7) & ~7L;
+        final long planeBytes = planeBytes(rows, columns);
+        final int chunks = (rows + chunkRows - 1) / chunkRows;
+        for(int p = 0; p < 2; ++p) {
+            final long base = HEADER_SIZE + p * planeBytes;
+            states[p] = new MappedByteBuffer[chunks];
+            ages[p] = new MappedByteBuffer[chunks];
+            ageInts[p] = new IntBuffer[chunks];
+            for(int k = 0; k < chunks; ++k) {
+                final long first = (long) k * chunkRows * columns;
+                final long size = (long) Math.min(chunkRows,
+                        rows - k * chunkRows) * columns;
+                states[p][k] = map(base + first, size);
+                ages[p][k] = map(base + stateBytes + first * Integer.BYTES,
+                        size * Integer.BYTES);
+                ageInts[p][k] = ages[p][k].asIntBuffer();
+            }
+        }
+    }
+
+    /**
+     * Flushes the current plane and the header to the World file and closes
+     * it.  The World can not be utilized afterwards.
+     */
+    public void close() {
+        for(int k = 0; k < states[plane].length; ++k) {
+            states[plane][k].force();
+            ages[plane][k].force();
+        }
+        writeHeader();
+        try {
+            channel.close();
+        }
+        catch(IOException e) {
+            System.err.println("MappedWorld::close - I/O Error: " +
+                    e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes the World's counters and settings to the header and flushes it
+     * to the World file.
+     */
+    private void writeHeader() {
+        header.putInt(NEIGHBORHOOD_OFFSET, neighborhoodSize);
+        header.putInt(FLAGS_OFFSET, (allowBirths ? BIRTHS_FLAG : 0) |
+                (allowCarriers ? CARRIERS_FLAG : 0) |
+                (stagnant ? STAGNANT_FLAG : 0));
+        header.putInt(GENERATION_OFFSET, age);
+        header.putInt(PLANE_OFFSET, plane);
+        header.putLong(INFECTIONS_OFFSET, numInfections);
+        header.putLong(CHANGES_OFFSET, changes);
+        for(int x = 0; x < World.TRANSITIONS; ++x) {
+            header.putLong(TRANSITIONS_OFFSET + x * Long.BYTES,
+                    transitions[x]);
+        }
+        header.force();
+    }
+
+    /**
+     * Returns the current state of the Cell located at the specified row and
+     * column.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return Current state of the Cell.
+     */
+    public char getCellState(int row, int column) {
+        return (char) states[plane][row / chunkRows].get(
+                (row % chunkRows) * columns + column);
+    }
+
+    /**
+     * Returns the current age of the Cell located at the specified row and
+     * column.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return Current age of the Cell.
+     */
+    public int getCellAge(int row, int column) {
+        return ageInts[plane][row / chunkRows].get(
+                (row % chunkRows) * columns + column);
+    }
+
+    /**
+     * Sets the current state of the Cell located at the specified row and
+     * column.  The Cell keeps its age.  The edit is written into the
+     * current plane, the one the header names, through the shared mapping:
+     * it reaches the World file whenever the operating system writes the
+     * page back, and only close() forces it there.  A run that dies before
+     * the next evolve() or close() returns may therefore resume with any of
+     * the edits made since the last generation, each one either applied or
+     * not.  Once an evolve() returns, the generation computed from the
+     * edits is on disk, and resuming no longer depends on them.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @param newState The state value that is to be utilized.
+     */
+    public void setCellState(int row, int column, char newState) {
+        final int k = (row % chunkRows) * columns + column;
+        final MappedByteBuffer s = states[plane][row / chunkRows];
+        s.put(k, (byte) newState);
+    }
+
+    /**
+     * Resets the World's state.  In particular, sets the World's age,
+     * infection count and change counts to zero, sets the stagnant flag to
+     * false, and sets every Cell to the specified state at age zero.  The
+     * cleared plane is flushed before the header that names it.
+     * @param s State that all Cells will take.
+     */
+    public void reset(char s) {
+        stagnant = false;
+        age = 0;
+        numInfections = 0;
+        changes = 0;
+        Arrays.fill(transitions, 0);
+        final byte row[] = new byte[columns];
+        final int zeros[] = new int[columns];
+        Arrays.fill(row, (byte) s);
+        for(int i = 0; i < rows; ++i) {
+            writeRow(plane, i, row, zeros);
+        }
+        for(int k = 0; k < states[plane].length; ++k) {
+            states[plane][k].force();
+            ages[plane][k].force();
+        }
+        writeHeader();
+    }
+
+    /**
+     * Changes the world state based upon the World type's default rules.
+     */
+    public void evolve() {
+        sweep(null);
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule string.
+     * @param ruleString Evolution rule string.
+     * @see Rule
+     */
+    public void evolve(String ruleString) {
+        evolve(new Rule(ruleString));
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule.  Only
+     * supported by SIR Worlds.
+     * @param rule Evolution rule.
+     * @see World#evolve(Rule)
+     */
+    public void evolve(Rule rule) {
+        sweep(rule);
+    }
+
+    /**
+     * Moves the World forward one generation.  Rows of the current plane
+     * stream through a three-row window; each evolved row is written to the
+     * other plane, and each chunk of it is flushed as soon as it is complete.
+     * The header then switches over to the other plane.
+     * @param rule Evolution rule, or null to utilize the default rules.
+     */
+    private void sweep(Rule rule) {
+        if(rule == null ? sweepRule != null : !rule.equals(sweepRule)) {
+            sweepRule = rule;
+            rules = null;
+        }
+        if(rules == null) {
+            rules = World.compileRules(worldType, allowBirths, allowCarriers,
+                    rule, ruleLanes);
+        }
+        if(windowStates == null) {
+            windowStates = new byte[3][columns];
+            windowLanes = new long[3][columns + 2];
+        }
+        final int next = 1 - plane;
+        Arrays.fill(transitions, 0);
+        changes = 0;
+        byte north[] = windowStates[0];
+        byte center[] = windowStates[1];
+        byte south[] = windowStates[2];
+        long northLanes[] = windowLanes[0];
+        long centerLanes[] = windowLanes[1];
+        long southLanes[] = windowLanes[2];
+        Arrays.fill(northLanes, 0);
+        readStates(0, center);
+        lanes(center, centerLanes);
+        for(int i = 0; i < rows; ++i) {
+            if(i + 1 < rows) {
+                readStates(i + 1, south);
+                lanes(south, southLanes);
+            }
+            else {
+                Arrays.fill(southLanes, 0);
+            }
+            countNeighbors(northLanes, centerLanes, southLanes);
+            readAges(i, rowAges);
+            evolveRow(center);
+            writeRow(next, i, futureStates, futureAges);
+            if((i + 1) % chunkRows == 0 || i + 1 == rows) {
+                states[next][i / chunkRows].force();
+                ages[next][i / chunkRows].force();
+            }
+            final byte rowSwap[] = north;
+            north = center;
+            center = south;
+            south = rowSwap;
+            final long laneSwap[] = northLanes;
+            northLanes = centerLanes;
+            centerLanes = southLanes;
+            southLanes = laneSwap;
+        }
+        plane = next;
+        stagnant = changes == 0;
+        if(!stagnant) {
+            ++age;
+        }
+        writeHeader();
+    }
+
+    /**
+     * Computes the future states and ages of the row in the middle of the
+     * window by looking up each Cell's transition in the compiled transition
+     * table.
+     * @param row Current states of the row.
+     * @see World#compileRules
+     */
+    private void evolveRow(byte row[]) {
+        for(int j = 0; j < columns; ++j) {
+            final int s = row[j] & 0xFF;
+            final int cellAge = rowAges[j];
+            final int rule = World.nextRule(rules, ruleLanes, s,
+                    neighborCounts[j], cellAge);
+            futureStates[j] = (byte) rule;
+            futureAges[j] = World.futureAge(rule, cellAge);
+            if((rule & World.RULE_CHANGED) != 0) {
+                ++transitions[(rule >>> World.TRANSITION_SHIFT) & 7];
+                ++changes;
+                if((rule & World.RULE_INFECTION) != 0) {
+                    ++numInfections;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the neighbors of the row in the middle of the window and stores
+     * the result in neighborCounts, packed one byte lane per counted state
+     * exactly as World does.
+     * @param north Lane values of the row above (zero if there is none).
+     * @param center Lane values of the row.
+     * @param south Lane values of the row below (zero if there is none).
+     */
+    private void countNeighbors(long north[], long center[], long south[]) {
+        for(int j = 1; j <= columns; ++j) {
+            columnSums[j] = north[j] + center[j] + south[j];
+        }
+        if(neighborhoodSize == World.MOORE) {
+            for(int j = 0; j < columns; ++j) {
+                neighborCounts[j] = columnSums[j] + columnSums[j + 1] +
+                    columnSums[j + 2] - center[j + 1];
+            }
+        }
+        else {
+            for(int j = 0; j < columns; ++j) {
+                neighborCounts[j] = columnSums[j + 1] - center[j + 1] +
+                    center[j] + center[j + 2];
+            }
+        }
+    }
+
+    /**
+     * Stores the lane values of a row of Cell states, leaving a zero lane on
+     * either side.
+     * @param row Cell states of the row.
+     * @param lanes Lane values of the row.
+     */
+    private void lanes(byte row[], long lanes[]) {
+        for(int j = 0; j < columns; ++j) {
+            lanes[j + 1] = World.STATE_LANES[row[j] & 0xFF];
+        }
+    }
+
+    /**
+     * Reads the current states of a row of Cells.
+     * @param i Row index (Base zero).
+     * @param row Array receiving the states.
+     */
+    private void readStates(int i, byte row[]) {
+        final ByteBuffer s = states[plane][i / chunkRows].duplicate();
+        s.position((i % chunkRows) * columns);
+        s.get(row);
+    }
+
+    /**
+     * Reads the current ages of a row of Cells.
+     * @param i Row index (Base zero).
+     * @param row Array receiving the ages.
+     */
+    private void readAges(int i, int row[]) {
+        final IntBuffer a = ageInts[plane][i / chunkRows].duplicate();
+        a.position((i % chunkRows) * columns);
+        a.get(row);
+    }
+
+    /**
+     * Writes the states and ages of a row of Cells to a plane.
+     * @param p Plane (0 or 1).
+     * @param i Row index (Base zero).
+     * @param row States of the row.
+     * @param rowAges Ages of the row.
+     */
+    private void writeRow(int p, int i, byte row[], int rowAges[]) {
+        final ByteBuffer s = states[p][i / chunkRows].duplicate();
+        s.position((i % chunkRows) * columns);
+        s.put(row);
+        final IntBuffer a = ageInts[p][i / chunkRows].duplicate();
+        a.position((i % chunkRows) * columns);
+        a.put(rowAges);
+    }
+
+    /**
+     * Sets whether Cell births will be allowed in the SIR model.
+     * @param allow Indicates whether Cell births will be allowed.
+     */
+    public void allowBirths(boolean allow) {
+        allowBirths = allow;
+        rules = null;
+    }
+
+    /**
+     * Sets whether Carrier Cells will be considered in the SIR model.
+     * @param allow Indicates whether Carrier Cells will be considered.
+     */
+    public void allowCarriers(boolean allow) {
+        allowCarriers = allow;
+        rules = null;
+    }
+
+    /**
+     * Sets the neighborhood size that is to be utilized.
+     * @param newSize Neighborhood size (VON_NEUMANN or MOORE).
+     */
+    public void setNeighborhoodSize(int newSize) {
+        neighborhoodSize = newSize;
+    }
+
+    /**
+     * Returns whether the world has reached equilibrium.
+     * @return true if no Cell changed in the last generation.  Returns false
+     * otherwise.
+     */
+    public boolean isStagnant() {
+        return stagnant;
+    }
+
+    /**
+     * Returns the current number of generations that have passed.
+     * @return Number of generations that have passed.
+     */
+    public int getNumGenerations() {
+        return age;
+    }
+
+    /**
+     * Returns the number of new infections produced.
+     * @return Number of new infections produced.
+     */
+    public long getNewInfectionCount() {
+        return numInfections;
+    }
+
+    /**
+     * Returns the number of Cells whose state changed in the last generation.
+     * @return Number of Cells whose state changed in the last generation.
+     */
+    public long getChangeCount() {
+        return changes;
+    }
+
+    /**
+     * Returns the number of Cells that went from one state to another in the
+     * last generation.
+     * @param from State the Cells left.
+     * @param to State the Cells entered.
+     * @return Number of Cells that made the transition.
+     * @see World#getTransitionCount(char, char)
+     */
+    public long getTransitionCount(char from, char to) {
+        final int transition = World.transition(from, to);
+        return transition < 0 ? 0 : transitions[transition];
+    }
+
+    /**
+     * Returns the number of Cell rows.
+     * @return Number of Cell rows.
+     */
+    public int getNumRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of Cell columns.
+     * @return Number of Cell columns.
+     */
+    public int getNumColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the World type.
+     * @return World type ("SIR" or "GOL").
+     */
+    public String getWorldType() {
+        return worldType;
+    }
+}
@@ -0,0 +1,165 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+/**
+ * An immutable SIR evolution rule.  A rule is usually decoded from a rule
+ * string (a chromosome of the genetic algorithm) once, and then utilized for
+ * as many generations as needed, rather than having the World decode the
+ * string again and again.
+ * Parsing Breakdown:
+ * 111 111 111 111
+ *  A   B   C   D
+ * A: EMPTY Neighbors Needed for an EMPTY Cell to Become SUSCEPTIBLE
+ * B: INFECTED Neighbors Needed for a SUSCEPTIBLE Cell to Become INFECTED
+ * C: Most INFECTED Neighbors an INFECTED Cell Can Have and Recover
+ * D: RECOVERED Neighbors Needed for a RECOVERED Cell to Become EMPTY
+ * Each field is Gray decoded with a trailing one bit appended.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see World#evolve(Rule)
+ */
+
+public final class Rule {
+
+    ///Number of EMPTY Neighbors Needed for an EMPTY Cell to Be Born
+    private final int birthThreshold;
+    ///Number of INFECTED Neighbors Needed to Infect a SUSCEPTIBLE Cell
+    private final int infectionThreshold;
+    ///Most INFECTED Neighbors an INFECTED Cell Can Have and Still Recover
+    private final int recoveryThreshold;
+    ///Number of RECOVERED Neighbors Needed for a RECOVERED Cell to Die
+    private final int deathThreshold;
+
+    /**
+     * Constructs a new Rule by decoding the provided rule string.
+     * @param ruleString Evolution rule string (At least twelve bits).
+     */
+    public Rule(String ruleString) {
+        if(ruleString == null || ruleString.length() < 12) {
+            System.err.println("Rule::Rule - Invalid Rule String");
+            System.exit(1);
+        }
+        //TODO:Note why I'm inc grayDecode...
+        birthThreshold = GeneticAlgorithm.grayDecode(
+                ruleString.substring(0, 3) + 1);
+        infectionThreshold = GeneticAlgorithm.grayDecode(
+                ruleString.substring(3, 6) + 1);
+        recoveryThreshold = GeneticAlgorithm.grayDecode(
+                ruleString.substring(6, 9) + 1);
+        deathThreshold = GeneticAlgorithm.grayDecode(
+                ruleString.substring(9, 12) + 1);
+    }
+
+    /**
+     * Constructs a new Rule with the provided thresholds.
+     * @param birth Number of EMPTY neighbors needed for an EMPTY Cell to
+     * become SUSCEPTIBLE.
+     * @param infection Number of INFECTED neighbors needed for a SUSCEPTIBLE
+     * Cell to become INFECTED.
+     * @param recovery Most INFECTED neighbors an INFECTED Cell can have and
+     * still become RECOVERED.
+     * @param death Number of RECOVERED neighbors needed for a RECOVERED Cell
+     * to become EMPTY.
+     */
+    public Rule(int birth, int infection, int recovery, int death) {
+        birthThreshold = birth;
+        infectionThreshold = infection;
+        recoveryThreshold = recovery;
+        deathThreshold = death;
+    }
+
+    /**
+     * Returns the number of EMPTY neighbors needed for an EMPTY Cell to
+     * become SUSCEPTIBLE.
+     * @return Birth threshold.
+     */
+    public int getBirthThreshold() {
+        return birthThreshold;
+    }
+
+    /**
+     * Returns the number of INFECTED neighbors needed for a SUSCEPTIBLE Cell
+     * to become INFECTED.
+     * @return Infection threshold.
+     */
+    public int getInfectionThreshold() {
+        return infectionThreshold;
+    }
+
+    /**
+     * Returns the most INFECTED neighbors an INFECTED Cell can have and still
+     * become RECOVERED.
+     * @return Recovery threshold.
+     */
+    public int getRecoveryThreshold() {
+        return recoveryThreshold;
+    }
+
+    /**
+     * Returns the number of RECOVERED neighbors needed for a RECOVERED Cell
+     * to become EMPTY.
+     * @return Death threshold.
+     */
+    public int getDeathThreshold() {
+        return deathThreshold;
+    }
+
+    /**
+     * Overrides equals.  Rules are equal if all their thresholds are.
+     * @param o Object to compare against.
+     * @return true if o is a Rule with the same thresholds.  Returns false
+     * otherwise.
+     * @see java.lang.Object#equals(Object)
+     */
+    public boolean equals(Object o) {
+        if(!(o instanceof Rule)) {
+            return false;
+        }
+        final Rule r = (Rule) o;
+        return birthThreshold == r.birthThreshold &&
+            infectionThreshold == r.infectionThreshold &&
+            recoveryThreshold == r.recoveryThreshold &&
+            deathThreshold == r.deathThreshold;
+    }
+
+    /**
+     * Overrides hashCode.
+     * @return Hash code of the Rule's thresholds.
+     * @see java.lang.Object#hashCode()
+     */
+    public int hashCode() {
+        return ((birthThreshold * 31 + infectionThreshold) * 31 +
+                recoveryThreshold) * 31 + deathThreshold;
+    }
+
+    /**
+     * Overrides toString.
+     * @return String in the form: [ Birth, Infection, Recovery, Death ].
+     * @see java.lang.Object#toString()
+     */
+    public String toString() {
+        return "[" + birthThreshold + ", " + infectionThreshold + ", " +
+            recoveryThreshold + ", " + deathThreshold + "]";
+    }
+}
@@ -0,0 +1,407 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.util.Arrays;
+
+
+/**
+ * Bit-sliced SIR engine.  Every SIR state (EMPTY, SUSCEPTIBLE, INFECTED,
+ * RECOVERED, CARRIER_U and CARRIER_I) is stored as its own bitplane of 64-bit
+ * words, one bit per Cell, so a word holds 64 Cells.  Neighbor counts are
+ * summed bit-sliced with full adders, threshold rules become bitwise
+ * comparisons against the sliced counts, and transitions are bitwise masks.
+ *
+ * Ages are kept as stamps: the engine generation at which a Cell's age was
+ * last zero.  A Cell's age is derived from its stamp, so stamps are only
+ * written when a Cell is born, and only Carrier Cells that are otherwise
+ * ready to recover have their age looked at.  EMPTY and RECOVERED Cells
+ * always have an age of zero.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ */
+
+final class SirBitplaneEngine implements WorldEngine {
+    ///Number of Cell Rows
+    private final int rows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Number of Words Per Row
+    private final int words;
+    ///Flag Indicating if a Moore Neighborhood is Being Utilized
+    private final boolean moore;
+    ///Flag Indicating if Births Are Considered
+    private final boolean allowBirths;
+    ///Flag Indicating if Carriers Are Considered
+    private final boolean allowCarriers;
+    ///Minimum EMPTY Neighbor Count For a Birth
+    private final int birthThreshold;
+    ///Minimum Infectious Neighbor Count For an Infection
+    private final int infectionThreshold;
+    ///Maximum Infectious Neighbor Count For a Recovery
+    private final int recoveryThreshold;
+    ///Minimum RECOVERED Neighbor Count For a Death
+    private final int deathThreshold;
+
+    //State Bitplanes (Row-Major Words, With an Empty Row Above and Below)
+    private long empty[];
+    private long susceptible[];
+    private long infected[];
+    private long recovered[];
+    private long carriersU[];
+    private long carriersI[];
+    ///Infectious Cells: INFECTED, Plus CARRIER_I When Carriers Are Considered
+    private long infectious[];
+
+    //Next Generation Bitplanes
+    private long nextEmpty[];
+    private long nextSusceptible[];
+    private long nextInfected[];
+    private long nextRecovered[];
+    private long nextCarriersU[];
+    private long nextCarriersI[];
+    private long nextInfectious[];
+
+    ///Engine Generation at Which Each Cell's Age Was Zero (Row-Major Cells)
+    private final int stamps[];
+    ///Number of Generations Evolved Since the Engine Was Loaded
+    private int generation = 0;
+    ///Number of New Infections Produced By the Last Generation
+    private int newInfections = 0;
+    ///Bit-Sliced Neighbor Count Scratch Space (Ones, Twos, Fours, Eights)
+    private final long count[] = new long[4];
+
+    /**
+     * Constructs a new SirBitplaneEngine utilizing the default SIR rules.
+     * @param r Number of Cell rows.
+     * @param c Number of Cell columns.
+     * @param nSize Neighborhood size (VON_NEUMANN or MOORE).
+     * @param births Whether births are considered.
+     * @param carriers Whether Carrier Cells are considered.
+     */
+    SirBitplaneEngine(int r, int c, int nSize, boolean births,
+            boolean carriers) {
+        rows = r;
+        columns = c;
+        words = (columns + 63) >>> 6;
+        moore = nSize == World.MOORE;
+        allowBirths = births;
+        allowCarriers = carriers;
+        birthThreshold = 2;
+        infectionThreshold = 2;
+        recoveryThreshold = 4;
+        deathThreshold = 3;
+        final int size = (rows + 2) * words;
+        empty = new long[size];
+        susceptible = new long[size];
+        infected = new long[size];
+        recovered = new long[size];
+        carriersU = new long[size];
+        carriersI = new long[size];
+        infectious = allowCarriers ? new long[size] : infected;
+        nextEmpty = new long[size];
+        nextSusceptible = new long[size];
+        nextInfected = new long[size];
+        nextRecovered = new long[size];
+        nextCarriersU = new long[size];
+        nextCarriersI = new long[size];
+        nextInfectious = allowCarriers ? new long[size] : nextInfected;
+        stamps = new int[rows * columns];
+    }
+
+    /**
+     * @see WorldEngine#load(byte[], int[])
+     */
+    public boolean load(byte state[], int ages[]) {
+        final long planes[][] = {empty, susceptible, infected, recovered,
+            carriersU, carriersI, infectious};
+        for(int p = 0; p < planes.length; ++p) {
+            Arrays.fill(planes[p], 0L);
+        }
+        generation = 0;
+        for(int i = 0; i < rows; ++i) {
+            for(int j = 0; j < columns; ++j) {
+                final int k = i * columns + j;
+                final long plane[] = plane((char) state[k]);
+                if(plane == null) {
+                    return false;
+                }
+                plane[(i + 1) * words + (j >>> 6)] |= 1L << j;
+                stamps[k] = -ages[k];
+            }
+        }
+        if(allowCarriers) {
+            for(int w = 0; w < infectious.length; ++w) {
+                infectious[w] = infected[w] | carriersI[w];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @see WorldEngine#store(byte[], int[])
+     */
+    public void store(byte state[], int ages[]) {
+        for(int i = 0; i < rows; ++i) {
+            for(int j = 0; j < columns; ++j) {
+                final int k = i * columns + j;
+                final char s = getCellState(i, j);
+                state[k] = (byte) s;
+                if(s == World.EMPTY || s == World.RECOVERED) {
+                    ages[k] = 0;
+                }
+                else {
+                    ages[k] = generation - stamps[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * @see WorldEngine#getCellState(int, int)
+     */
+    public char getCellState(int row, int column) {
+        final int w = (row + 1) * words + (column >>> 6);
+        final long bit = 1L << column;
+        if((susceptible[w] & bit) != 0) { return World.SUSCEPTIBLE; }
+        if((infected[w] & bit) != 0) { return World.INFECTED; }
+        if((recovered[w] & bit) != 0) { return World.RECOVERED; }
+        if((empty[w] & bit) != 0) { return World.EMPTY; }
+        if((carriersU[w] & bit) != 0) { return World.CARRIER_U; }
+        return World.CARRIER_I;
+    }
+
+    /**
+     * @see WorldEngine#getNewInfectionCount()
+     */
+    public int getNewInfectionCount() {
+        return newInfections;
+    }
+
+    /**
+     * @see WorldEngine#step(int[])
+     */
+    public int step(int transitions[]) {
+        int changed = 0;
+        newInfections = 0;
+        for(int i = 1; i <= rows; ++i) {
+            final int base = i * words;
+            for(int w = 0; w < words; ++w) {
+                final int k = base + w;
+                countNeighbors(infectious, base, w);
+                final long infectable = atLeast(infectionThreshold);
+                final long recoverable = ~atLeast(recoveryThreshold + 1);
+
+                long births = 0L;
+                long deaths = 0L;
+                if(allowBirths) {
+                    countNeighbors(empty, base, w);
+                    births = empty[k] & atLeast(birthThreshold);
+                    countNeighbors(recovered, base, w);
+                    deaths = recovered[k] & atLeast(deathThreshold);
+                }
+                final long infections = susceptible[k] & infectable;
+                final long recoveries = infected[k] & recoverable;
+                long carrierInfections = 0L;
+                long carrierRecoveries = 0L;
+                if(allowCarriers) {
+                    carrierInfections = carriersU[k] & infectable;
+                    carrierRecoveries = agedCarriers(carriersI[k] &
+                            recoverable, i - 1, w);
+                }
+
+                nextEmpty[k] = (empty[k] & ~births) | deaths;
+                nextSusceptible[k] = (susceptible[k] & ~infections) | births;
+                nextInfected[k] = (infected[k] & ~recoveries) | infections;
+                nextRecovered[k] = (recovered[k] & ~deaths) | recoveries |
+                    carrierRecoveries;
+                nextCarriersU[k] = carriersU[k] & ~carrierInfections;
+                nextCarriersI[k] = (carriersI[k] & ~carrierRecoveries) |
+                    carrierInfections;
+                if(allowCarriers) {
+                    nextInfectious[k] = nextInfected[k] | nextCarriersI[k];
+                }
+
+                if(births != 0L) {
+                    stampBirths(births, i - 1, w);
+                }
+                final int nBirths = Long.bitCount(births);
+                final int nDeaths = Long.bitCount(deaths);
+                final int nInfections = Long.bitCount(infections);
+                final int nRecoveries = Long.bitCount(recoveries);
+                final int nCarrierInfections = Long.bitCount(carrierInfections);
+                final int nCarrierRecoveries = Long.bitCount(carrierRecoveries);
+                transitions[World.EMPTY_TO_SUSCEPTIBLE] += nBirths;
+                transitions[World.RECOVERED_TO_EMPTY] += nDeaths;
+                transitions[World.SUSCEPTIBLE_TO_INFECTED] += nInfections;
+                transitions[World.INFECTED_TO_RECOVERED] += nRecoveries;
+                transitions[World.CARRIER_U_TO_CARRIER_I] += nCarrierInfections;
+                transitions[World.CARRIER_I_TO_RECOVERED] += nCarrierRecoveries;
+                newInfections += nInfections;
+                changed += nBirths + nDeaths + nInfections + nRecoveries +
+                    nCarrierInfections + nCarrierRecoveries;
+            }
+        }
+        ++generation;
+        swap();
+        return changed;
+    }
+
+    /**
+     * Returns the subset of the given CARRIER_I Cells that are old enough to
+     * recover.
+     * @param candidates Word of CARRIER_I Cells that may recover.
+     * @param row Row index (Base zero) of the word.
+     * @param w Index of the word within the row.
+     * @return Word of CARRIER_I Cells that recover.
+     */
+    private long agedCarriers(long candidates, int row, int w) {
+        long aged = 0L;
+        while(candidates != 0L) {
+            final long bit = Long.lowestOneBit(candidates);
+            final int column = (w << 6) + Long.numberOfTrailingZeros(bit);
+            if(generation - stamps[row * columns + column] >=
+                    World.CARRIER_TSBE) {
+                aged |= bit;
+            }
+            candidates ^= bit;
+        }
+        return aged;
+    }
+
+    /**
+     * Zeroes the age of newly born Cells as of the next generation.
+     * @param births Word of newly born Cells.
+     * @param row Row index (Base zero) of the word.
+     * @param w Index of the word within the row.
+     */
+    private void stampBirths(long births, int row, int w) {
+        while(births != 0L) {
+            final int column = (w << 6) + Long.numberOfTrailingZeros(births);
+            stamps[row * columns + column] = generation + 1;
+            births &= births - 1;
+        }
+    }
+
+    /**
+     * Computes the bit-sliced neighbor count of every Cell in a word and
+     * stores it in count.
+     * @param plane Bitplane of the state being counted.
+     * @param base Index of the first word of the row.
+     * @param w Index of the word within the row.
+     */
+    private void countNeighbors(long plane[], int base, int w) {
+        final int k = base + w;
+        final boolean first = w == 0;
+        final boolean last = w == words - 1;
+        final long c = plane[k];
+        final long n = plane[k - words];
+        final long s = plane[k + words];
+        final long west = (c << 1) | (first ? 0L : plane[k - 1] >>> 63);
+        final long east = (c >>> 1) | (last ? 0L : plane[k + 1] << 63);
+        if(!moore) {
+            final long t = n ^ s ^ west;
+            final long tCarry = (n & s) | (west & (n ^ s));
+            count[0] = t ^ east;
+            count[1] = tCarry ^ (t & east);
+            count[2] = tCarry & t & east;
+            count[3] = 0L;
+            return;
+        }
+        final long nw = (n << 1) | (first ? 0L : plane[k - words - 1] >>> 63);
+        final long ne = (n >>> 1) | (last ? 0L : plane[k - words + 1] << 63);
+        final long sw = (s << 1) | (first ? 0L : plane[k + words - 1] >>> 63);
+        final long se = (s >>> 1) | (last ? 0L : plane[k + words + 1] << 63);
+        //North row, south row and west/east pair sums.
+        final long nOnes = nw ^ n ^ ne;
+        final long nTwos = (nw & n) | (ne & (nw ^ n));
+        final long sOnes = sw ^ s ^ se;
+        final long sTwos = (sw & s) | (se & (sw ^ s));
+        final long mOnes = west ^ east;
+        final long mTwos = west & east;
+        //Ones bit of the total and the carry it produces.
+        final long onesCarry = (nOnes & sOnes) | (mOnes & (nOnes ^ sOnes));
+        final long t = nTwos ^ sTwos ^ mTwos;
+        final long tCarry = (nTwos & sTwos) | (mTwos & (nTwos ^ sTwos));
+        final long twosCarry = t & onesCarry;
+        count[0] = nOnes ^ sOnes ^ mOnes;
+        count[1] = t ^ onesCarry;
+        count[2] = tCarry ^ twosCarry;
+        count[3] = tCarry & twosCarry;
+    }
+
+    /**
+     * Compares the bit-sliced count against a constant threshold.
+     * @param threshold Threshold each Cell's count is compared against.
+     * @return Word whose bits are set where count is at least the threshold.
+     */
+    private long atLeast(int threshold) {
+        if(threshold > 15) {
+            return 0L;
+        }
+        long greater = 0L;
+        long equal = -1L;
+        for(int b = 3; b >= 0; --b) {
+            if(((threshold >>> b) & 1) != 0) {
+                equal &= count[b];
+            }
+            else {
+                greater |= equal & count[b];
+                equal &= ~count[b];
+            }
+        }
+        return greater | equal;
+    }
+
+    /**
+     * Returns the bitplane that holds Cells in the specified state.
+     * @param s Cell state.
+     * @return Bitplane holding the state, or null if the state can not be
+     * evolved by the engine.
+     */
+    private long[] plane(char s) {
+        switch(s) {
+            case World.EMPTY: return empty;
+            case World.SUSCEPTIBLE: return susceptible;
+            case World.INFECTED: return infected;
+            case World.RECOVERED: return recovered;
+            case World.CARRIER_U: return allowCarriers ? carriersU : null;
+            case World.CARRIER_I: return allowCarriers ? carriersI : null;
+            default: return null;
+        }
+    }
+
+    /**
+     * Makes the next generation's bitplanes current.
+     */
+    private void swap() {
+        long t[];
+        t = empty; empty = nextEmpty; nextEmpty = t;
+        t = susceptible; susceptible = nextSusceptible; nextSusceptible = t;
+        t = infected; infected = nextInfected; nextInfected = t;
+        t = recovered; recovered = nextRecovered; nextRecovered = t;
+        t = carriersU; carriersU = nextCarriersU; nextCarriersU = t;
+        t = carriersI; carriersI = nextCarriersI; nextCarriersI = t;
+        t = infectious; infectious = nextInfectious; nextInfectious = t;
+    }
+}
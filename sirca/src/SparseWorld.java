@@ -0,0 +1,767 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * An unbounded World holding only the parts of the plane that differ from
+ * the background state (DEAD in Game of Life worlds, EMPTY in SIR worlds).
+ * The plane is cut into square chunks kept in a hash map keyed by chunk
+ * coordinates.  A chunk is allocated as soon as activity reaches it and is
+ * freed once all of its Cells are back in the background state, so
+ * gliders, guns and outbreaks may wander anywhere (negative coordinates
+ * included) while memory stays proportional to the active region.
+ *
+ * Cells evolve exactly as in a World (the same compiled transition table is
+ * utilized), with every Cell beyond the allocated chunks counted as a
+ * background neighbor.  Rules under which a background Cell surrounded by
+ * background Cells changes (births of Cells out of EMPTY neighborhoods, for
+ * instance) would fill the whole plane, and are rejected.
+ *
+ * Coordinates are longs; chunk coordinates must fit in an int, which limits
+ * rows and columns to +/- 2^37; Cells beyond are rejected.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see World
+ * @see HashLife
+ */
+
+public final class SparseWorld {
+    ///Log2 of the Width and Height (in Cells) of a Chunk
+    private static final int CHUNK_SHIFT = 6;
+    ///Width and Height (in Cells) of a Chunk
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    ///Mask Selecting a Cell's Row or Column Within its Chunk
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    ///Width of a Chunk's Lanes, Halo Included
+    private static final int PADDED_SIZE = CHUNK_SIZE + 2;
+
+    /**
+     * Square block of Cells, with its current and future planes.
+     */
+    private static final class Chunk {
+        ///Chunk Coordinates (Row in the High Half, Column in the Low Half)
+        long key;
+        byte state[] = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        byte futureState[] = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        int ages[] = new int[CHUNK_SIZE * CHUNK_SIZE];
+        int futureAges[] = new int[CHUNK_SIZE * CHUNK_SIZE];
+        ///Number of Cells Not in the Background State
+        int live = 0;
+        ///Number of Cells Not in the Background State in the Future Plane
+        int futureLive = 0;
+
+        Chunk(long key, byte background) {
+            this.key = key;
+            Arrays.fill(state, background);
+        }
+
+        /**
+         * Makes the future planes the current ones.
+         */
+        void update() {
+            final byte swapState[] = state;
+            state = futureState;
+            futureState = swapState;
+            final int swapAges[] = ages;
+            ages = futureAges;
+            futureAges = swapAges;
+            live = futureLive;
+        }
+    }
+
+    /**
+     * Open addressing hash map from chunk coordinates to chunks, with linear
+     * probing.  Keys are primitive longs, so lookups never box.
+     */
+    private static final class ChunkMap {
+        ///Chunks by Slot (null Slots Are Free)
+        Chunk chunks[] = new Chunk[16];
+        ///Number of Chunks Held
+        int size = 0;
+
+        /**
+         * Returns the home slot of a key.
+         * @param key Chunk coordinates.
+         * @return Slot index.
+         */
+        private int slot(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) &
+                (chunks.length - 1);
+        }
+
+        Chunk get(long key) {
+            final int mask = chunks.length - 1;
+            for(int i = slot(key); chunks[i] != null; i = (i + 1) & mask) {
+                if(chunks[i].key == key) {
+                    return chunks[i];
+                }
+            }
+            return null;
+        }
+
+        void put(Chunk chunk) {
+            if(2 * (size + 1) > chunks.length) {
+                final Chunk old[] = chunks;
+                chunks = new Chunk[old.length * 2];
+                size = 0;
+                for(int i = 0; i < old.length; ++i) {
+                    if(old[i] != null) {
+                        put(old[i]);
+                    }
+                }
+            }
+            final int mask = chunks.length - 1;
+            int i = slot(chunk.key);
+            while(chunks[i] != null) {
+                if(chunks[i].key == chunk.key) {
+                    chunks[i] = chunk;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            chunks[i] = chunk;
+            ++size;
+        }
+
+        /**
+         * Removes a chunk, shifting back the chunks probed past it so that
+         * no tombstones are needed.
+         * @param key Chunk coordinates.
+         */
+        void remove(long key) {
+            final int mask = chunks.length - 1;
+            int i = slot(key);
+            while(chunks[i] != null && chunks[i].key != key) {
+                i = (i + 1) & mask;
+            }
+            if(chunks[i] == null) {
+                return;
+            }
+            chunks[i] = null;
+            --size;
+            for(int j = (i + 1) & mask; chunks[j] != null;
+                    j = (j + 1) & mask) {
+                final int home = slot(chunks[j].key);
+                //Move chunk j back unless its home lies in (i, j].
+                if(i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                    chunks[i] = chunks[j];
+                    chunks[j] = null;
+                    i = j;
+                }
+            }
+        }
+    }
+
+    ///Chunks Holding Cells Not in the Background State
+    private final ChunkMap chunks = new ChunkMap();
+    ///Chunks Allocated by the Generation Being Computed
+    private final ChunkMap born = new ChunkMap();
+    ///Background Chunk Missing Chunks Are Evolved In Until One Is Allocated
+    private Chunk spare = null;
+    ///String Representing Current World Type, Either: "SIR" or "GOL"
+    private final String worldType;
+    ///State of Every Cell Outside the Allocated Chunks
+    private final byte background;
+    ///Current Neighborhood Size Being Utilized
+    private int neighborhoodSize;
+    ///Flag Indicating if Births Are Considered in Evolution Algorithm
+    private boolean allowBirths = false;
+    ///Flag Indicating if Carriers Are Considered in Evolution Algorithm
+    private boolean allowCarriers = false;
+    ///Number of New Infections Produced
+    private int numInfections = 0;
+    ///Flag Indicating if World Has Reached Equilibrium
+    private boolean stagnant = false;
+    ///Number of Generations Passed
+    private int age = 0;
+    ///Number of Cells of Each Transition Produced by the Last Generation
+    private final int transitions[] = new int[World.TRANSITIONS];
+    ///Number of Cells Whose State Changed in the Last Generation
+    private long changes = 0;
+    ///Rule Utilized by the Last Generation, or null for the Default Rules
+    private Rule sweepRule = null;
+    ///Compiled Transition Table, or null Until the Next evolve() Compiles It
+    private int rules[] = null;
+    ///Neighbor Count Lanes Read by the Rules of Each State
+    private final long ruleLanes[] = new long[256];
+    ///Lane Values of the Chunk Being Evolved, Surrounded by a One-Cell Halo
+    private final long lanes[] = new long[PADDED_SIZE * PADDED_SIZE];
+    ///Per-Column Lane Sums of the Row Being Evolved and Its Neighbors
+    private final long columnSums[] = new long[PADDED_SIZE];
+
+    /**
+     * Constructs a new SparseWorld, with every Cell in the background state.
+     * @param wType World Type (Supported Types: "SIR" or "GOL").
+     * @param nSize Initial neighborhood size
+     * (Supported Types: VON_NEUMANN, MOORE).
+     */
+    public SparseWorld(String wType, int nSize) {
+        if(wType.equals(World.GOL_WORLD)) {
+            background = (byte) World.DEAD;
+        }
+        else if(wType.equals(World.SIR_WORLD)) {
+            background = (byte) World.EMPTY;
+        }
+        else {
+            System.err.println("SparseWorld::Error While Initializing " +
+                    "World Type");
+            System.exit(1);
+            background = 0;
+        }
+        worldType = wType;
+        neighborhoodSize = nSize;
+    }
+
+    /**
+     * Returns the key of the chunk holding the specified Cell.  Cells whose
+     * chunk coordinates do not fit in an int are rejected.
+     * @param row Row index.
+     * @param column Column index.
+     * @return Chunk coordinates.
+     */
+    private static long key(long row, long column) {
+        final long cr = row >> CHUNK_SHIFT;
+        final long cc = column >> CHUNK_SHIFT;
+        if(cr != (int) cr || cc != (int) cc) {
+            System.err.println("SparseWorld::key - Cell Out of Range: " +
+                    row + ", " + column);
+            System.exit(1);
+        }
+        return chunkKey((int) cr, (int) cc);
+    }
+
+    /**
+     * Returns the key of the chunk at the specified chunk coordinates.
+     * @param cr Chunk row.
+     * @param cc Chunk column.
+     * @return Chunk coordinates.
+     */
+    private static long chunkKey(int cr, int cc) {
+        return ((long) cr << 32) | (cc & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the index of a Cell within its chunk's planes.
+     * @param row Row index.
+     * @param column Column index.
+     * @return Index of the Cell.
+     */
+    private static int index(long row, long column) {
+        return ((int) row & CHUNK_MASK) << CHUNK_SHIFT |
+            ((int) column & CHUNK_MASK);
+    }
+
+    /**
+     * Copies the Cells (states and ages) of the provided World into rows
+     * [0, getNumRows()) and columns [0, getNumColumns()).
+     * @param world World of the same type whose Cells will be utilized.
+     */
+    public void load(World world) {
+        if(!world.getWorldType().equals(worldType)) {
+            System.err.println("SparseWorld::load - World Type Error");
+            System.exit(1);
+        }
+        for(int i = 0; i < world.getNumRows(); ++i) {
+            for(int j = 0; j < world.getNumColumns(); ++j) {
+                final Cell cell = world.getCell(i, j);
+                setCellState(i, j, cell.getState());
+                final Chunk chunk = chunks.get(key(i, j));
+                if(chunk != null) {
+                    chunk.ages[index(i, j)] = cell.getAge();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the states of rows [0, getNumRows()) and columns
+     * [0, getNumColumns()) into the provided World.
+     * @param world World whose Cells will be overwritten.
+     */
+    public void store(World world) {
+        for(int i = 0; i < world.getNumRows(); ++i) {
+            for(int j = 0; j < world.getNumColumns(); ++j) {
+                world.setCellState(i, j, getCellState(i, j));
+            }
+        }
+    }
+
+    /**
+     * Returns the current state of the Cell located at the specified row and
+     * column.
+     * @param row Row index.
+     * @param column Column index.
+     * @return Current state of the Cell.
+     */
+    public char getCellState(long row, long column) {
+        final Chunk chunk = chunks.get(key(row, column));
+        return (char) (chunk == null ? background :
+                chunk.state[index(row, column)]);
+    }
+
+    /**
+     * Returns the current age of the Cell located at the specified row and
+     * column.
+     * @param row Row index.
+     * @param column Column index.
+     * @return Current age of the Cell.
+     */
+    public int getCellAge(long row, long column) {
+        final Chunk chunk = chunks.get(key(row, column));
+        return chunk == null ? 0 : chunk.ages[index(row, column)];
+    }
+
+    /**
+     * Sets the current state of the Cell located at the specified row and
+     * column.  The Cell keeps its age; Cells outside allocated chunks are at
+     * age zero.  Chunks are allocated and freed as needed.
+     * @param row Row index.
+     * @param column Column index.
+     * @param newState The state value that is to be utilized.
+     */
+    public void setCellState(long row, long column, char newState) {
+        final long key = key(row, column);
+        Chunk chunk = chunks.get(key);
+        if(chunk == null) {
+            if((byte) newState == background) {
+                return;
+            }
+            chunk = new Chunk(key, background);
+            chunks.put(chunk);
+        }
+        final int k = index(row, column);
+        final byte old = chunk.state[k];
+        if(old == (byte) newState) {
+            return;
+        }
+        chunk.state[k] = (byte) newState;
+        if(old == background) {
+            ++chunk.live;
+        }
+        else if((byte) newState == background && --chunk.live == 0) {
+            chunks.remove(key);
+        }
+    }
+
+    /**
+     * Returns the states of a rectangular region of the plane.
+     * @param row Row index of the region's top-left Cell.
+     * @param column Column index of the region's top-left Cell.
+     * @param numRows Number of rows in the region.
+     * @param numColumns Number of columns in the region.
+     * @return States of the region's Cells, indexed [row][column].
+     */
+    public char[][] getViewport(long row, long column, int numRows,
+            int numColumns) {
+        final char cells[][] = new char[numRows][numColumns];
+        for(int i = 0; i < numRows; ++i) {
+            for(int j = 0; j < numColumns; ++j) {
+                cells[i][j] = getCellState(row + i, column + j);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Returns the smallest rectangle holding every Cell that is not in the
+     * background state.
+     * @return {top row, left column, bottom row, right column} (inclusive),
+     * or null if every Cell is in the background state.
+     */
+    public long[] getBoundingBox() {
+        long box[] = null;
+        for(int s = 0; s < chunks.chunks.length; ++s) {
+            final Chunk chunk = chunks.chunks[s];
+            if(chunk == null) {
+                continue;
+            }
+            final long row0 = (chunk.key >> 32) << CHUNK_SHIFT;
+            final long column0 = (long) (int) chunk.key << CHUNK_SHIFT;
+            for(int k = 0; k < CHUNK_SIZE * CHUNK_SIZE; ++k) {
+                if(chunk.state[k] == background) {
+                    continue;
+                }
+                final long row = row0 + (k >> CHUNK_SHIFT);
+                final long column = column0 + (k & CHUNK_MASK);
+                if(box == null) {
+                    box = new long[] {row, column, row, column};
+                }
+                box[0] = Math.min(box[0], row);
+                box[1] = Math.min(box[1], column);
+                box[2] = Math.max(box[2], row);
+                box[3] = Math.max(box[3], column);
+            }
+        }
+        return box;
+    }
+
+    /**
+     * Returns the number of Cells that are not in the background state.
+     * @return Number of Cells that are not in the background state.
+     */
+    public long getPopulation() {
+        long population = 0;
+        for(int s = 0; s < chunks.chunks.length; ++s) {
+            if(chunks.chunks[s] != null) {
+                population += chunks.chunks[s].live;
+            }
+        }
+        return population;
+    }
+
+    /**
+     * Returns the number of chunks currently allocated.
+     * @return Number of chunks currently allocated.
+     */
+    public int getChunkCount() {
+        return chunks.size;
+    }
+
+    /**
+     * Changes the world state based upon the World type's default rules.
+     */
+    public void evolve() {
+        sweep(null);
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule string.
+     * @param ruleString Evolution rule string.
+     * @see Rule
+     */
+    public void evolve(String ruleString) {
+        evolve(new Rule(ruleString));
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule.  Only
+     * supported by SIR Worlds.
+     * @param rule Evolution rule.
+     * @see World#evolve(Rule)
+     */
+    public void evolve(Rule rule) {
+        sweep(rule);
+    }
+
+    /**
+     * Moves the World forward one generation.  Every allocated chunk is
+     * evolved, as is every missing chunk next to one whose border Cells are
+     * not all in the background state.  Chunks left without such Cells are
+     * then freed.
+     * @param rule Evolution rule, or null to utilize the default rules.
+     */
+    private void sweep(Rule rule) {
+        if(rule == null ? sweepRule != null : !rule.equals(sweepRule)) {
+            sweepRule = rule;
+            rules = null;
+        }
+        if(rules == null) {
+            rules = World.compileRules(worldType, allowBirths, allowCarriers,
+                    rule, ruleLanes);
+            checkBackground();
+        }
+        Arrays.fill(transitions, 0);
+        changes = 0;
+        final Chunk current[] = chunks.chunks;
+        for(int s = 0; s < current.length; ++s) {
+            final Chunk chunk = current[s];
+            if(chunk == null) {
+                continue;
+            }
+            final int cr = (int) (chunk.key >> 32);
+            final int cc = (int) chunk.key;
+            evolveChunk(chunk, cr, cc);
+            for(int dr = -1; dr <= 1; ++dr) {
+                for(int dc = -1; dc <= 1; ++dc) {
+                    final long key = chunkKey(cr + dr, cc + dc);
+                    if(chunks.get(key) != null || born.get(key) != null) {
+                        continue;
+                    }
+                    if(spare == null) {
+                        spare = new Chunk(key, background);
+                    }
+                    spare.key = key;
+                    if(evolveChunk(spare, cr + dr, cc + dc)) {
+                        born.put(spare);
+                        spare = null;
+                    }
+                }
+            }
+        }
+        final ArrayList<Chunk> freed = new ArrayList<Chunk>();
+        for(int s = 0; s < current.length; ++s) {
+            if(current[s] != null) {
+                current[s].update();
+                if(current[s].live == 0) {
+                    freed.add(current[s]);
+                }
+            }
+        }
+        for(Chunk chunk : freed) {
+            chunks.remove(chunk.key);
+        }
+        for(int s = 0; s < born.chunks.length; ++s) {
+            if(born.chunks[s] != null) {
+                born.chunks[s].update();
+                chunks.put(born.chunks[s]);
+                born.chunks[s] = null;
+            }
+        }
+        born.size = 0;
+        stagnant = changes == 0;
+        if(!stagnant) {
+            ++age;
+        }
+    }
+
+    /**
+     * Makes sure background Cells surrounded by background Cells stay as
+     * they are under the compiled rules, since the plane beyond the allocated
+     * chunks is never evolved.
+     */
+    private void checkBackground() {
+        final int b = background & 0xFF;
+        final long around = World.STATE_LANES[b] * neighborhoodSize;
+        if((World.nextRule(rules, ruleLanes, b, around, 0) & 0xFF) != b) {
+            System.err.println("SparseWorld::evolve - Rules Change the " +
+                    "Background State");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Computes the future planes of a chunk.  The chunk's lanes are gathered
+     * along with a one-Cell halo taken from the neighboring chunks (or the
+     * background), then each Cell's transition is looked up in the compiled
+     * transition table.
+     * @param chunk Chunk being evolved.
+     * @param cr Chunk row.
+     * @param cc Chunk column.
+     * @return false if the chunk is not allocated and was left alone since
+     * its halo holds background Cells only.  Returns true otherwise.
+     */
+    private boolean evolveChunk(Chunk chunk, int cr, int cc) {
+        final int last = CHUNK_SIZE - 1;
+        final int corner = PADDED_SIZE - 1;
+        boolean quiet = true;
+        quiet &= haloRow(0, chunks.get(chunkKey(cr - 1, cc)), last);
+        quiet &= haloRow(corner, chunks.get(chunkKey(cr + 1, cc)), 0);
+        quiet &= haloColumn(0, chunks.get(chunkKey(cr, cc - 1)), last);
+        quiet &= haloColumn(corner, chunks.get(chunkKey(cr, cc + 1)), 0);
+        quiet &= haloCell(0, chunks.get(chunkKey(cr - 1, cc - 1)),
+                last * CHUNK_SIZE + last);
+        quiet &= haloCell(corner, chunks.get(chunkKey(cr - 1, cc + 1)),
+                last * CHUNK_SIZE);
+        quiet &= haloCell(corner * PADDED_SIZE,
+                chunks.get(chunkKey(cr + 1, cc - 1)), last);
+        quiet &= haloCell(corner * PADDED_SIZE + corner,
+                chunks.get(chunkKey(cr + 1, cc + 1)), 0);
+        if(quiet && chunk.live == 0) {
+            return false;
+        }
+        final byte state[] = chunk.state;
+        for(int i = 0; i < CHUNK_SIZE; ++i) {
+            for(int j = 0; j < CHUNK_SIZE; ++j) {
+                lanes[(i + 1) * PADDED_SIZE + j + 1] =
+                    World.STATE_LANES[state[i * CHUNK_SIZE + j] & 0xFF];
+            }
+        }
+        final int ages[] = chunk.ages;
+        final byte futureState[] = chunk.futureState;
+        final int futureAges[] = chunk.futureAges;
+        final boolean moore = neighborhoodSize == World.MOORE;
+        int live = 0;
+        for(int i = 0; i < CHUNK_SIZE; ++i) {
+            final int row = (i + 1) * PADDED_SIZE;
+            for(int x = 0; x < PADDED_SIZE; ++x) {
+                columnSums[x] = lanes[row - PADDED_SIZE + x] + lanes[row + x] +
+                    lanes[row + PADDED_SIZE + x];
+            }
+            for(int j = 0; j < CHUNK_SIZE; ++j) {
+                final int k = i * CHUNK_SIZE + j;
+                final long center = lanes[row + j + 1];
+                final long counts = moore ?
+                    columnSums[j] + columnSums[j + 1] + columnSums[j + 2] -
+                    center :
+                    columnSums[j + 1] - center + lanes[row + j] +
+                    lanes[row + j + 2];
+                final int s = state[k] & 0xFF;
+                final int cellAge = ages[k];
+                final int rule = World.nextRule(rules, ruleLanes, s, counts,
+                        cellAge);
+                futureState[k] = (byte) rule;
+                futureAges[k] = World.futureAge(rule, cellAge);
+                if((byte) rule != background) {
+                    ++live;
+                }
+                if((rule & World.RULE_CHANGED) != 0) {
+                    ++transitions[(rule >>> World.TRANSITION_SHIFT) & 7];
+                    ++changes;
+                    if((rule & World.RULE_INFECTION) != 0) {
+                        ++numInfections;
+                    }
+                }
+            }
+        }
+        chunk.futureLive = live;
+        return live != 0;
+    }
+
+    /**
+     * Fills a halo row of the lanes with a row of a neighboring chunk.
+     * @param slot Row of the lanes (zero or PADDED_SIZE - 1).
+     * @param neighbor Neighboring chunk, or null for the background.
+     * @param row Row of the neighboring chunk.
+     * @return true if the halo row holds background Cells only.
+     */
+    private boolean haloRow(int slot, Chunk neighbor, int row) {
+        final long backgroundLane = World.STATE_LANES[background & 0xFF];
+        if(neighbor == null) {
+            Arrays.fill(lanes, slot * PADDED_SIZE + 1,
+                    slot * PADDED_SIZE + 1 + CHUNK_SIZE, backgroundLane);
+            return true;
+        }
+        boolean quiet = true;
+        for(int j = 0; j < CHUNK_SIZE; ++j) {
+            final byte s = neighbor.state[row * CHUNK_SIZE + j];
+            lanes[slot * PADDED_SIZE + j + 1] = World.STATE_LANES[s & 0xFF];
+            quiet &= s == background;
+        }
+        return quiet;
+    }
+
+    /**
+     * Fills a halo column of the lanes with a column of a neighboring chunk.
+     * @param slot Column of the lanes (zero or PADDED_SIZE - 1).
+     * @param neighbor Neighboring chunk, or null for the background.
+     * @param column Column of the neighboring chunk.
+     * @return true if the halo column holds background Cells only.
+     */
+    private boolean haloColumn(int slot, Chunk neighbor, int column) {
+        boolean quiet = true;
+        for(int i = 0; i < CHUNK_SIZE; ++i) {
+            final byte s = neighbor == null ? background :
+                neighbor.state[i * CHUNK_SIZE + column];
+            lanes[(i + 1) * PADDED_SIZE + slot] = World.STATE_LANES[s & 0xFF];
+            quiet &= s == background;
+        }
+        return quiet;
+    }
+
+    /**
+     * Fills a halo corner of the lanes with a Cell of a neighboring chunk.
+     * @param slot Index of the corner within the lanes.
+     * @param neighbor Neighboring chunk, or null for the background.
+     * @param k Index of the Cell within the neighboring chunk.
+     * @return true if the Cell is in the background state.
+     */
+    private boolean haloCell(int slot, Chunk neighbor, int k) {
+        final byte s = neighbor == null ? background : neighbor.state[k];
+        lanes[slot] = World.STATE_LANES[s & 0xFF];
+        return s == background;
+    }
+
+    /**
+     * Sets whether Cell births will be allowed in the SIR model.
+     * @param allow Indicates whether Cell births will be allowed.
+     */
+    public void allowBirths(boolean allow) {
+        allowBirths = allow;
+        rules = null;
+    }
+
+    /**
+     * Sets whether Carrier Cells will be considered in the SIR model.
+     * @param allow Indicates whether Carrier Cells will be considered.
+     */
+    public void allowCarriers(boolean allow) {
+        allowCarriers = allow;
+        rules = null;
+    }
+
+    /**
+     * Sets the neighborhood size that is to be utilized.
+     * @param newSize Neighborhood size (VON_NEUMANN or MOORE).
+     */
+    public void setNeighborhoodSize(int newSize) {
+        neighborhoodSize = newSize;
+        rules = null;
+    }
+
+    /**
+     * Returns whether the world has reached equilibrium.
+     * @return true if no Cell changed in the last generation.  Returns false
+     * otherwise.
+     */
+    public boolean isStagnant() {
+        return stagnant;
+    }
+
+    /**
+     * Returns the current number of generations that have passed.
+     * @return Number of generations that have passed.
+     */
+    public int getNumGenerations() {
+        return age;
+    }
+
+    /**
+     * Returns the number of new infections produced.
+     * @return Number of new infections produced.
+     */
+    public int getNewInfectionCount() {
+        return numInfections;
+    }
+
+    /**
+     * Returns the number of Cells whose state changed in the last generation.
+     * @return Number of Cells whose state changed in the last generation.
+     */
+    public long getChangeCount() {
+        return changes;
+    }
+
+    /**
+     * Returns the number of Cells that went from one state to another in the
+     * last generation.
+     * @param from State the Cells left.
+     * @param to State the Cells entered.
+     * @return Number of Cells that made the transition.
+     * @see World#getTransitionCount(char, char)
+     */
+    public int getTransitionCount(char from, char to) {
+        final int transition = World.transition(from, to);
+        return transition < 0 ? 0 : transitions[transition];
+    }
+
+    /**
+     * Returns the World type.
+     * @return World type ("SIR" or "GOL").
+     */
+    public String getWorldType() {
+        return worldType;
+    }
+}
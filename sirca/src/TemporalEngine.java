@@ -0,0 +1,493 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Temporally blocked engine.  Evolving a large World one generation at a
+ * time streams every Cell through memory once per generation.  This engine
+ * instead splits the World into tiles and advances each tile several
+ * generations while it stays in cache: a tile is loaded together with a
+ * halo as wide as the number of generations, every generation is computed
+ * over a region one Cell narrower on each side than the last (a
+ * trapezoid), and only the tile's own Cells are written back.  Cells in
+ * the halo are computed redundantly by neighboring tiles, which costs a
+ * little arithmetic but no memory traffic.  Tiles only read the engine's
+ * current planes and only write their own part of the next ones, so they
+ * are evolved in parallel, and the results are identical to evolving one
+ * generation at a time.
+ *
+ * A block that turns out to settle partway through (see advance) is not
+ * evolved again: the generations past the one that settled changed no
+ * Cell, so they only made Cells older, and their ages are simply wound
+ * back.  Cells beyond the World's edges have state zero, which no rule
+ * counts or changes.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see World#evolve(int)
+ */
+
+final class TemporalEngine implements WorldEngine {
+    ///Width and Height (in Cells) of a Tile
+    private static final int TILE_SIZE = 128;
+    ///Most Generations Evolved per Block
+    static final int BLOCK_DEPTH = 8;
+    ///Number of Cell Rows
+    private final int rows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Number of Tile Rows
+    private final int tileRows;
+    ///Number of Tile Columns
+    private final int tileColumns;
+    ///Pool Tiles Are Evolved On, or null if the Engine Evolves Serially
+    private final ForkJoinPool pool;
+    ///Flag Indicating if a Moore Neighborhood is Being Utilized
+    private final boolean moore;
+    ///Flag Indicating if a Stagnant Generation Means the World Settled
+    private final boolean settles;
+    ///Compiled Transition Table (See World.compileRules)
+    private final int rules[];
+    ///States Whose Cells Grow One Generation Older Whenever They Keep Them
+    private final boolean growing[] = new boolean[256];
+    ///Flag Indicating if Every State Either Always or Never Grows Older
+    private final boolean rewindable;
+    ///Neighbor Count Lanes Read by the Rules of Each State
+    private final long ruleLanes[] = new long[256];
+    ///Current Cell States (Row-Major, One Character Code Per Cell)
+    private byte state[];
+    ///Current Cell Ages (Row-Major)
+    private int ages[];
+    ///Cell States Once the Block Being Evolved Is Done
+    private byte nextState[];
+    ///Cell Ages Once the Block Being Evolved Is Done
+    private int nextAges[];
+    ///Number of Cells of Each Transition Produced by Each Generation
+    private final int blockTransitions[][] =
+        new int[BLOCK_DEPTH][World.TRANSITIONS];
+    ///Number of Cells Whose State Changed in Each Generation
+    private final int blockChanges[] = new int[BLOCK_DEPTH];
+    ///Number of New Infections Produced by Each Generation
+    private final int blockInfections[] = new int[BLOCK_DEPTH];
+    ///Number of New Infections Produced by the Last step() or advance()
+    private int newInfections = 0;
+    ///Number of Leaves the Tiles Are Split Into
+    private final int leaves;
+    ///Scratch Space of Each Leaf, Kept From One Block to the Next
+    private final Scratch scratches[];
+    ///Number of Cells Whose State Changed in the Generation step() Evolves
+    private final int stepChanges[] = new int[1];
+
+    /**
+     * Constructs a new TemporalEngine utilizing the World type's default
+     * rules.
+     * @param r Number of Cell rows.
+     * @param c Number of Cell columns.
+     * @param nSize Neighborhood size (VON_NEUMANN or MOORE).
+     * @param wType World type.
+     * @param births Whether births are considered.
+     * @param carriers Whether Carrier Cells are considered.
+     * @param p Pool tiles are evolved on, or null to evolve serially.
+     * @param threshold Number of Cells below which the engine always evolves
+     * serially.
+     */
+    TemporalEngine(int r, int c, int nSize, String wType, boolean births,
+            boolean carriers, ForkJoinPool p, long threshold) {
+        rows = r;
+        columns = c;
+        pool = (long) rows * columns >= threshold ? p : null;
+        tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+        tileColumns = (columns + TILE_SIZE - 1) / TILE_SIZE;
+        leaves = pool == null ? 1 :
+            Math.min(tileRows * tileColumns, 4 * pool.getParallelism());
+        scratches = new Scratch[leaves];
+        moore = nSize == World.MOORE;
+        //Without carriers no Cell changes on its own once the World rests.
+        settles = wType.equals(World.GOL_WORLD) || !carriers;
+        rules = World.compileRules(wType, births, carriers, null, ruleLanes);
+        boolean uniform = true;
+        for(int s = 0; s < 256; ++s) {
+            boolean grows = false;
+            boolean stays = false;
+            for(int x = 0; x < 32; ++x) {
+                final int rule = rules[s << 5 | x];
+                if((rule & 0xFF) == s) {
+                    if((rule & World.AGE_GROW) == World.AGE_GROW) {
+                        grows = true;
+                    }
+                    else {
+                        stays = true;
+                    }
+                }
+            }
+            growing[s] = grows;
+            uniform &= !(grows && stays);
+        }
+        rewindable = uniform;
+        state = new byte[rows * columns];
+        ages = new int[rows * columns];
+        nextState = new byte[rows * columns];
+        nextAges = new int[rows * columns];
+    }
+
+    /**
+     * @see WorldEngine#load(byte[], int[])
+     */
+    public boolean load(byte state[], int ages[]) {
+        System.arraycopy(state, 0, this.state, 0, this.state.length);
+        System.arraycopy(ages, 0, this.ages, 0, this.ages.length);
+        return true;
+    }
+
+    /**
+     * @see WorldEngine#store(byte[], int[])
+     */
+    public void store(byte state[], int ages[]) {
+        System.arraycopy(this.state, 0, state, 0, this.state.length);
+        System.arraycopy(this.ages, 0, ages, 0, this.ages.length);
+    }
+
+    /**
+     * @see WorldEngine#getCellState(int, int)
+     */
+    public char getCellState(int row, int column) {
+        return (char) (state[row * columns + column] & 0xFF);
+    }
+
+    /**
+     * @see WorldEngine#getNewInfectionCount()
+     */
+    public int getNewInfectionCount() {
+        return newInfections;
+    }
+
+    /**
+     * @see WorldEngine#step(int[])
+     */
+    public int step(int transitions[]) {
+        advance(1, transitions, stepChanges);
+        return stepChanges[0];
+    }
+
+    /**
+     * Moves the engine's Cells forward as many as the specified number of
+     * generations (at most BLOCK_DEPTH) in a single block.  When the World
+     * settles (a generation changes no Cell, and no Cell can change on its
+     * own), evolution stops with that generation.  The block has already
+     * evolved the generations past it, but they changed no Cell, so the
+     * Cells' states are those of the generation that settled, and the ages
+     * of the Cells whose states grow older are wound back by the number of
+     * extra generations.  Should a state's rules grow some of its Cells
+     * older and not others, the block is instead evolved again, only as far
+     * as the generation that settled, which doubles its cost.
+     * @param generations Most generations that are to be evolved.
+     * @param transitions Per-transition counters that the Cells changing
+     * state in the last generation evolved are added to.
+     * @param changes Receives the number of Cells whose state changed in
+     * each generation evolved.
+     * @return Number of generations evolved.
+     */
+    int advance(int generations, int transitions[], int changes[]) {
+        final int depth = Math.min(generations, BLOCK_DEPTH);
+        evolveBlock(depth);
+        int evolved = depth;
+        if(settles) {
+            for(int g = 0; g < depth - 1; ++g) {
+                if(blockChanges[g] == 0) {
+                    evolved = g + 1;
+                    if(rewindable) {
+                        rewindAges(depth - evolved);
+                    }
+                    else {
+                        evolveBlock(evolved);
+                    }
+                    break;
+                }
+            }
+        }
+        newInfections = 0;
+        for(int g = 0; g < evolved; ++g) {
+            changes[g] = blockChanges[g];
+            newInfections += blockInfections[g];
+        }
+        for(int x = 0; x < World.TRANSITIONS; ++x) {
+            transitions[x] += blockTransitions[evolved - 1][x];
+        }
+        final byte swapState[] = state;
+        state = nextState;
+        nextState = swapState;
+        final int swapAges[] = ages;
+        ages = nextAges;
+        nextAges = swapAges;
+        return evolved;
+    }
+
+    /**
+     * Winds back the ages in the next planes by the specified number of
+     * generations that changed no Cell.
+     * @param generations Number of generations.
+     */
+    private void rewindAges(int generations) {
+        for(int k = 0; k < nextAges.length; ++k) {
+            if(growing[nextState[k] & 0xFF]) {
+                nextAges[k] -= generations;
+            }
+        }
+    }
+
+    /**
+     * Evolves every tile the specified number of generations, from the
+     * current planes into the next ones.
+     * @param depth Number of generations.
+     */
+    private void evolveBlock(int depth) {
+        for(int g = 0; g < BLOCK_DEPTH; ++g) {
+            Arrays.fill(blockTransitions[g], 0);
+        }
+        Arrays.fill(blockChanges, 0);
+        Arrays.fill(blockInfections, 0);
+        if(leaves > 1) {
+            pool.invoke(new TileTask(0, leaves, depth));
+        }
+        else {
+            new TileTask(0, 1, depth).compute();
+        }
+    }
+
+    /**
+     * Evolves a range of leaves, splitting the range in half until a single
+     * leaf, a run of consecutive tiles, remains.  Each leaf has its own
+     * scratch space and counters, which are added to the engine's once the
+     * leaf is done.
+     */
+    private final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        ///Index of the First Leaf
+        private final int first;
+        ///Index One Past the Last Leaf
+        private final int last;
+        ///Number of Generations Evolved
+        private final int depth;
+
+        TileTask(int f, int l, int d) {
+            first = f;
+            last = l;
+            depth = d;
+        }
+
+        protected void compute() {
+            if(last - first > 1) {
+                final int middle = (first + last) >>> 1;
+                invokeAll(new TileTask(first, middle, depth),
+                        new TileTask(middle, last, depth));
+                return;
+            }
+            if(scratches[first] == null) {
+                scratches[first] = new Scratch();
+            }
+            final Scratch scratch = scratches[first];
+            scratch.reset(depth);
+            final int tiles = tileRows * tileColumns;
+            final int t0 = (int) ((long) tiles * first / leaves);
+            final int t1 = (int) ((long) tiles * last / leaves);
+            for(int t = t0; t < t1; ++t) {
+                evolveTile(t, scratch);
+            }
+            synchronized(TemporalEngine.this) {
+                for(int g = 0; g < depth; ++g) {
+                    blockChanges[g] += scratch.changes[g];
+                    blockInfections[g] += scratch.infections[g];
+                    for(int x = 0; x < World.TRANSITIONS; ++x) {
+                        blockTransitions[g][x] += scratch.transitions[g][x];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Scratch space of a leaf: a tile and its halo, twice over, and the
+     * counters of the generations evolved.  Planes are sized for the widest
+     * halo, so the same scratch space serves blocks of any depth.
+     */
+    private static final class Scratch {
+        ///Width of the Tile and Halo Planes
+        final int width = TILE_SIZE + 2 * BLOCK_DEPTH;
+        ///Halo Width (Number of Generations Evolved)
+        int depth;
+        ///Cell States (Tile and Halo)
+        byte state[];
+        byte nextState[];
+        ///Cell Ages (Tile and Halo)
+        int ages[];
+        int nextAges[];
+        ///Per-Column Lane Sums of the Row Being Evolved and Its Neighbors
+        final long columnSums[];
+        ///Lane Values of the Row Being Evolved
+        final long rowLanes[];
+        ///Counters of Each Generation Evolved
+        final int transitions[][];
+        final int changes[];
+        final int infections[];
+
+        Scratch() {
+            state = new byte[width * width];
+            nextState = new byte[width * width];
+            ages = new int[width * width];
+            nextAges = new int[width * width];
+            columnSums = new long[width];
+            rowLanes = new long[width];
+            transitions = new int[BLOCK_DEPTH][World.TRANSITIONS];
+            changes = new int[BLOCK_DEPTH];
+            infections = new int[BLOCK_DEPTH];
+        }
+
+        /**
+         * Prepares the scratch space for a block, clearing its counters.
+         * @param d Number of generations the block evolves.
+         */
+        void reset(int d) {
+            depth = d;
+            for(int g = 0; g < BLOCK_DEPTH; ++g) {
+                Arrays.fill(transitions[g], 0);
+            }
+            Arrays.fill(changes, 0);
+            Arrays.fill(infections, 0);
+        }
+    }
+
+    /**
+     * Evolves a tile the scratch space's number of generations.  Generation
+     * g is computed over the tile and a halo depth - g Cells wide, which
+     * only reads Cells computed by the generation before; only the tile's
+     * own Cells are counted and written back.
+     * @param t Tile index.
+     * @param scratch Scratch space of the leaf.
+     */
+    private void evolveTile(int t, Scratch scratch) {
+        final int depth = scratch.depth;
+        final int width = scratch.width;
+        final int r0 = (t / tileColumns) * TILE_SIZE;
+        final int c0 = (t % tileColumns) * TILE_SIZE;
+        final int height = Math.min(TILE_SIZE, rows - r0) + 2 * depth;
+        final int span = Math.min(TILE_SIZE, columns - c0) + 2 * depth;
+        //Load the tile and its halo; Cells beyond the edges have state zero.
+        final int j0 = Math.max(0, c0 - depth);
+        final int j1 = Math.min(columns, c0 - depth + span);
+        for(int y = 0; y < height; ++y) {
+            final int i = r0 - depth + y;
+            final int p = y * width;
+            Arrays.fill(scratch.state, p, p + span, (byte) 0);
+            Arrays.fill(scratch.ages, p, p + span, 0);
+            if(i >= 0 && i < rows) {
+                final int x = j0 - (c0 - depth);
+                System.arraycopy(state, i * columns + j0, scratch.state,
+                        p + x, j1 - j0);
+                System.arraycopy(ages, i * columns + j0, scratch.ages,
+                        p + x, j1 - j0);
+            }
+        }
+        for(int g = 0; g < depth; ++g) {
+            final int inset = g + 1;
+            for(int y = inset; y < height - inset; ++y) {
+                final boolean owned = y >= depth && y < height - depth;
+                evolveRow(scratch, y, inset, span - inset,
+                        owned ? depth : span, span - depth, g);
+            }
+            byte swapState[] = scratch.state;
+            scratch.state = scratch.nextState;
+            scratch.nextState = swapState;
+            int swapAges[] = scratch.ages;
+            scratch.ages = scratch.nextAges;
+            scratch.nextAges = swapAges;
+        }
+        //Write back the tile's own Cells.
+        for(int y = depth; y < height - depth; ++y) {
+            final int k = (r0 + y - depth) * columns + c0;
+            System.arraycopy(scratch.state, y * width + depth, nextState, k,
+                    span - 2 * depth);
+            System.arraycopy(scratch.ages, y * width + depth, nextAges, k,
+                    span - 2 * depth);
+        }
+    }
+
+    /**
+     * Evolves a run of Cells of a tile's row by one generation, counting the
+     * transitions of the tile's own Cells.
+     * @param scratch Scratch space of the leaf.
+     * @param y Row (within the scratch planes).
+     * @param x0 First column (within the scratch planes).
+     * @param x1 Column one past the last.
+     * @param own0 First column of the tile's own Cells, or x1 if the row
+     * holds none.
+     * @param own1 Column one past the tile's own Cells.
+     * @param g Generation (within the block) being evolved.
+     */
+    private void evolveRow(Scratch scratch, int y, int x0, int x1, int own0,
+            int own1, int g) {
+        final int table[] = rules;
+        final long lanes[] = ruleLanes;
+        final long stateLanes[] = World.STATE_LANES;
+        final byte cur[] = scratch.state;
+        final int curAges[] = scratch.ages;
+        final byte next[] = scratch.nextState;
+        final int nextAges[] = scratch.nextAges;
+        final int width = scratch.width;
+        final int transitions[] = scratch.transitions[g];
+        final long columnSums[] = scratch.columnSums;
+        final long rowLanes[] = scratch.rowLanes;
+        //Column sums of the three rows are shared by three Cells each.
+        for(int x = x0 - 1; x <= x1; ++x) {
+            final int p = y * width + x;
+            final long center = stateLanes[cur[p] & 0xFF];
+            rowLanes[x] = center;
+            columnSums[x] = center + stateLanes[cur[p - width] & 0xFF] +
+                stateLanes[cur[p + width] & 0xFF];
+        }
+        int changes = 0;
+        int infections = 0;
+        for(int x = x0; x < x1; ++x) {
+            final int p = y * width + x;
+            final int s = cur[p] & 0xFF;
+            final long counts = moore ?
+                columnSums[x - 1] + columnSums[x] + columnSums[x + 1] -
+                rowLanes[x] :
+                columnSums[x] - rowLanes[x] + rowLanes[x - 1] +
+                rowLanes[x + 1];
+            final int age = curAges[p];
+            final int rule = World.nextRule(table, lanes, s, counts, age);
+            next[p] = (byte) rule;
+            nextAges[p] = World.futureAge(rule, age);
+            if(x >= own0 && x < own1 && (rule & World.RULE_CHANGED) != 0) {
+                ++transitions[(rule >>> World.TRANSITION_SHIFT) & 7];
+                ++changes;
+                infections += (rule >>> 14) & 1;
+            }
+        }
+        scratch.changes[g] += changes;
+        scratch.infections[g] += infections;
+    }
+}
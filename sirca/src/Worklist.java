@@ -0,0 +1,166 @@
+import java.util.Arrays;
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+/**
+ * Worklist of the Cells an engine evaluates in the next generation, together
+ * with the state changes of the current one.  Cells are queued for the
+ * generation after while the current one is stepped, and a bitmap keeps any
+ * Cell from being queued twice.  Both lists grow as needed.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see FrontierEngine
+ * @see IncrementalEngine
+ */
+
+final class Worklist {
+    ///Cells to Evaluate in the Current Generation
+    private int cells[];
+    ///Number of Cells on the Worklist
+    private int size = 0;
+    ///Cells to Evaluate in the Generation After, Gathered While Stepping
+    private int next[];
+    ///Number of Cells on the Next Worklist
+    private int nextSize = 0;
+    ///One Bit per Cell, Set Once the Cell Is on the Next Worklist
+    private final long queued[];
+    ///Cells Changing State in the Current Generation, and Their New States
+    private int changed[];
+    private byte changedStates[];
+    ///Number of Cells Changing State in the Current Generation
+    private int changes = 0;
+
+    /**
+     * Constructs a new, empty Worklist.
+     * @param n Number of Cell indices (one past the largest Cell index).
+     * @param capacity Initial capacity of each list.
+     */
+    Worklist(int n, int capacity) {
+        capacity = Math.max(1, capacity);
+        cells = new int[capacity];
+        next = new int[capacity];
+        queued = new long[(n + 63) >>> 6];
+        changed = new int[capacity];
+        changedStates = new byte[capacity];
+    }
+
+    /**
+     * Empties both worklists and the state changes.
+     */
+    void clear() {
+        size = 0;
+        nextSize = 0;
+        changes = 0;
+        Arrays.fill(queued, 0L);
+    }
+
+    /**
+     * Returns the number of Cells on the worklist.
+     * @return Number of Cells on the worklist.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a Cell on the worklist.
+     * @param w Position on the worklist (Base zero).
+     * @return Cell index.
+     */
+    int get(int w) {
+        return cells[w];
+    }
+
+    /**
+     * Puts a Cell on the next worklist, unless it is already on it.
+     * @param k Cell index.
+     */
+    void queue(int k) {
+        final long bit = 1L << k;
+        if((queued[k >>> 6] & bit) == 0) {
+            queued[k >>> 6] |= bit;
+            if(nextSize == next.length) {
+                next = Arrays.copyOf(next, nextSize * 2);
+            }
+            next[nextSize++] = k;
+        }
+    }
+
+    /**
+     * Makes the next worklist the current one, clears its bitmap and
+     * forgets the state changes.
+     */
+    void swap() {
+        final int swap[] = cells;
+        cells = next;
+        next = swap;
+        size = nextSize;
+        nextSize = 0;
+        changes = 0;
+        for(int w = 0; w < size; ++w) {
+            queued[cells[w] >>> 6] = 0L;
+        }
+    }
+
+    /**
+     * Records that a Cell changes state in the current generation.
+     * @param k Cell index.
+     * @param newState State the Cell changes to.
+     */
+    void change(int k, byte newState) {
+        if(changes == changed.length) {
+            changed = Arrays.copyOf(changed, changes * 2);
+            changedStates = Arrays.copyOf(changedStates, changes * 2);
+        }
+        changed[changes] = k;
+        changedStates[changes] = newState;
+        ++changes;
+    }
+
+    /**
+     * Returns the number of Cells changing state in the current generation.
+     * @return Number of Cells changing state.
+     */
+    int changes() {
+        return changes;
+    }
+
+    /**
+     * Returns a Cell changing state in the current generation.
+     * @param x Position among the state changes (Base zero).
+     * @return Cell index.
+     */
+    int changedCell(int x) {
+        return changed[x];
+    }
+
+    /**
+     * Returns the state a Cell changes to in the current generation.
+     * @param x Position among the state changes (Base zero).
+     * @return New state of the Cell.
+     */
+    byte changedState(int x) {
+        return changedStates[x];
+    }
+}
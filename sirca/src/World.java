@@ -1,4 +1,10 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
 
 //----------------------------------------------------------------------------//
 //                                                                            //
@@ -54,23 +60,85 @@ public final class World {
     public static final String SIR_WORLD = "SIR";
     public static final String GOL_WORLD = "GOL";
 
+    //Supported Boundaries
+    ///Cells Beyond the Edges Are Never Counted as Neighbors
+    public static final int FIXED_BOUNDARY = 0;
+    ///Edges Wrap Around: the World Is a Torus
+    public static final int TOROIDAL_BOUNDARY = 1;
+    ///Cells Beyond an Edge Mirror the Cells Along It
+    public static final int REFLECTIVE_BOUNDARY = 2;
+
+    //Supported Engines
+    ///Evolve Cells in Place, One Cell at a Time
+    public static final String SCALAR_ENGINE = "SCALAR";
+    ///Evolve Cells 64 at a Time (See GolBitboardEngine, SirBitplaneEngine)
+    public static final String BITBOARD_ENGINE = "BITBOARD";
+    ///Engine Evolving Vectors of Cells With the Vector API (See VectorEngine)
+    public static final String VECTOR_ENGINE = "VECTOR";
+    ///Evolve Only Cells Whose Neighbor Counts Changed (See IncrementalEngine)
+    public static final String INCREMENTAL_ENGINE = "INCREMENTAL";
+    ///Evolve Only the Cells on the Front (See FrontierEngine)
+    public static final String FRONTIER_ENGINE = "FRONTIER";
+    ///Evolve Several Generations per Cache-Resident Tile (See TemporalEngine)
+    public static final String TEMPORAL_ENGINE = "TEMPORAL";
+
+    ///Transition Indices of the Per-Generation Change Counters
+    static final int EMPTY_TO_SUSCEPTIBLE = 0;
+    static final int SUSCEPTIBLE_TO_INFECTED = 1;
+    static final int INFECTED_TO_RECOVERED = 2;
+    static final int RECOVERED_TO_EMPTY = 3;
+    static final int CARRIER_U_TO_CARRIER_I = 4;
+    static final int CARRIER_I_TO_RECOVERED = 5;
+    static final int DEAD_TO_ALIVE = 6;
+    static final int ALIVE_TO_DEAD = 7;
+    ///Number of Transitions Counted per Generation
+    static final int TRANSITIONS = 8;
+
+    //Transition Table Entry Fields (Bits 0-7 Hold the Next State)
+    static final int AGE_ZERO = 0;
+    static final int AGE_KEEP = 1 << 9;
+    static final int AGE_GROW = (1 << 9) | (1 << 8);
+    static final int TRANSITION_SHIFT = 10;
+    static final int RULE_INFECTION = 1 << 14;
+    static final int RULE_CHANGED = 1 << 15;
+    static final int RULE_AGING_CARRIER = 1 << 16;
+
+    ///Default Number of Cells Below Which Evolution Stays Serial
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
     ///Time Steps Utilized Before Carrier Cell Are Eligible for Recovery
-    private static final int CARRIER_TSBE = 50;
+    static final int CARRIER_TSBE = 50;
 
     ///Number of Cell Columns
     private int columns;
     ///Number of Cell Rows
     private int rows;
-    ///World 2d Matrix
-    private final Cell world[][];
+    ///Current Cell States (Row-Major, One Character Code Per Cell)
+    private byte state[];
+    ///Future Cell States (Row-Major, One Character Code Per Cell)
+    private byte futureState[];
+    ///Cell Age Stamps (Row-Major, See cellAge)
+    private int stamps[];
+    ///States Whose Cells Grow One Generation Older Every Generation
+    private final boolean stamped[] = new boolean[256];
     ///Number of New Infections Produced
     private int numInfections = 0; ///TODO: Add to evolve()
     ///Flag Indicating if World Has Reached Equilibrium
     private boolean stagnant = false;
+    ///Number of Cells of Each Transition Produced by the Last Generation
+    private final int transitions[] = new int[TRANSITIONS];
+    ///Number of Cells Whose State Changed in the Last Generation
+    private int changes = 0;
     ///Number of Generations Passed
     private int age = 0;
     ///Current Neighborhood Size Being Utilized
     private int neighborhoodSize;
+    ///Boundary Condition Being Utilized
+    private int boundary = FIXED_BOUNDARY;
+    ///Radius of the Neighborhood (Above 1, an Extended Moore Neighborhood)
+    private int radius = 1;
+    ///Flag Indicating if Wide Neighborhood Thresholds Are Fractions
+    private boolean fractionalThresholds = true;
     ///String Representing Current World Type, Either: "SIR" or "GOL"
     private String worldType = null;
     ///Flag Indicating if Births Are Considered in Evolution Algorithm
@@ -87,6 +155,106 @@ public final class World {
     private static final char states[] = {EMPTY, SUSCEPTIBLE, INFECTED,
         CARRIER_U};
 
+    //Packed Neighbor Count Lanes (Bit Offsets of Each Counted State)
+    private static final int EMPTY_LANE = 0;
+    private static final int INFECTED_LANE = 8;
+    private static final int RECOVERED_LANE = 16;
+    private static final int CARRIER_I_LANE = 24;
+    private static final int ALIVE_LANE = 32;
+    ///Multiplier Summing Every Lane Into the Top Lane
+    static final long LANE_SUM = 0x0101010101010101L;
+    ///One-Hot Lane Value of Each Cell State, Indexed by Character Code
+    static final long STATE_LANES[] = new long[256];
+    static {
+        STATE_LANES[EMPTY] = 1L << EMPTY_LANE;
+        STATE_LANES[INFECTED] = 1L << INFECTED_LANE;
+        STATE_LANES[RECOVERED] = 1L << RECOVERED_LANE;
+        STATE_LANES[CARRIER_I] = 1L << CARRIER_I_LANE;
+        STATE_LANES[ALIVE] = 1L << ALIVE_LANE;
+    }
+    ///Scratch Space of Each Band of Tile Rows Evolved in Parallel
+    private Band bands[];
+    ///Pool Bands Are Evolved On, or null if the World Evolves Serially
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    ///Number of Cells Below Which the World Always Evolves Serially
+    private long parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    ///Name of the Engine Selected Through setEngine()
+    private String engineName = SCALAR_ENGINE;
+    ///Engine Evolving the World, or null if the World Evolves Itself
+    private WorldEngine engine = null;
+    ///Flag Indicating if VectorEngine Can Be Loaded (Cleared Once it Fails)
+    private static boolean vectorEngineAvailable = true;
+    ///Flag Indicating if the Engine (Not the Planes) Holds the World's State
+    private boolean engineLoaded = false;
+
+    ///Width and Height (in Cells) of the Tiles Evolution Is Scheduled By
+    private static final int TILE_SIZE = 32;
+    ///Number of Tile Rows
+    private final int tileRows;
+    ///Number of Tile Columns
+    private final int tileColumns;
+    ///Flags Indicating Which Tiles Changed in the Last Generation
+    private final boolean tileChanged[];
+    ///Flags Indicating Which Tiles Are Evaluated in the Current Generation
+    private final boolean tileActive[];
+    ///Flags Indicating Which Tiles Hold CARRIER_I Cells That May Recover
+    private final boolean tileBusy[];
+    ///Flags Indicating Which Tiles' Future Planes Trail Their Current Ones
+    private final boolean tileStale[];
+    ///Number of Generations Computed by sweep()
+    private int sweeps = 0;
+    ///Rule Utilized by the Last sweep(), or null for the Default Rules
+    private Rule sweepRule = null;
+    ///Compiled Transition Table, or null Until the Next sweep() Compiles It
+    private int rules[] = null;
+    ///Neighbor Count Lanes Read by the Rules of Each State
+    private long ruleLanes[] = null;
+    ///Number of Compiled Transition Tables Kept Across Worlds
+    private static final int COMPILED_RULES_CACHED = 64;
+    ///Most Recently Used Compiled Transition Tables, Keyed by Configuration
+    private static final Map<String, CompiledRules> compiledRules =
+        new LinkedHashMap<String, CompiledRules>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(
+                    Map.Entry<String, CompiledRules> eldest) {
+                return size() > COMPILED_RULES_CACHED;
+            }
+        };
+    ///Neighbor Counters of the Moore, von Neumann and Wide Neighborhoods
+    private static final NeighborCounter MOORE_COUNTER = new MooreCounter();
+    private static final NeighborCounter VON_NEUMANN_COUNTER =
+        new VonNeumannCounter();
+    private static final NeighborCounter WIDE_COUNTER = new WideCounter();
+    ///Neighbor Counter of the Current Neighborhood, or null Until Picked
+    private NeighborCounter counter = null;
+    ///Number of Neighbor Count Lanes
+    private static final int LANES = ALIVE_LANE / 8 + 1;
+    ///Summed-Area Table of Each Lane Read by a Wide Neighborhood, or null
+    private int laneSums[][] = null;
+    ///Row Ranges (Index Pairs) Covered by Each Row's Wide Neighborhood
+    private int rowRanges[][] = null;
+    ///Column Ranges (Index Pairs) Covered by Each Column's Wide Neighborhood
+    private int columnRanges[][] = null;
+    ///Kernel the Infection Pressure Is Computed With, or null
+    private InfectionKernel infectionKernel = null;
+    ///Infection Pressure on Each Cell (Row-Major), or null
+    private double pressure[] = null;
+    ///Row Standing in for Each Row of the Kernel's Padded World
+    private int kernelRows[] = null;
+    ///Column Standing in for Each Column of the Kernel's Padded World
+    private int kernelColumns[] = null;
+    ///Amount Added to Pressures So Rounding Never Drops a Whole Neighbor
+    private static final double PRESSURE_TOLERANCE = 1e-9;
+    ///Flag Indicating if Infection and Recovery Are Drawn at Random
+    private boolean stochastic = false;
+    ///Seed of the Stochastic Rules' Draws
+    private long stochasticSeed = 0L;
+    ///Chance (in 53-Bit Fixed Point) of Infection, Per Infectious Count
+    private final long infectionChances[] = new long[16];
+    ///Chance (in 53-Bit Fixed Point) of Recovery
+    private long recoveryChance = 0L;
+
     /**
      * Constructs a new World.
      * @param r Number of cell rows that the world will contain.
@@ -106,24 +274,28 @@ public final class World {
         worldType = wType;
         columns = c;
         rows = r;
-        world = new Cell[rows][columns];
+        state = new byte[rows * columns];
+        futureState = new byte[rows * columns];
+        stamps = new int[rows * columns];
+        tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+        tileColumns = (columns + TILE_SIZE - 1) / TILE_SIZE;
+        tileChanged = new boolean[tileRows * tileColumns];
+        tileActive = new boolean[tileRows * tileColumns];
+        tileBusy = new boolean[tileRows * tileColumns];
+        tileStale = new boolean[tileRows * tileColumns];
+        stampStates();
+        wakeAllTiles();
+        setBands(pool.getParallelism());
 
         changeProbabilities(emptyPercent, susPercent, infPercent,
                 carrierPercent);
 
+        Arrays.fill(futureState, (byte) Cell.UNDEFINED);
         if(wType.equals(GOL_WORLD)) {
-            for(int i = 0; i < rows; ++i) {
-                for(int j = 0; j < columns; ++j) {
-                    world[i][j] = new Cell(DEAD);
-                }
-            }
+            Arrays.fill(state, (byte) DEAD);
         }
         else if(wType.equals(SIR_WORLD)) {
-            for(int i = 0; i < rows; ++i) {
-                for(int j = 0; j < columns; ++j) {
-                    world[i][j] = new Cell(EMPTY);
-                }
-            }
+            Arrays.fill(state, (byte) EMPTY);
             populateSIR();
         }
         else {
@@ -136,324 +308,566 @@ public final class World {
      * Changes the world state based upon evolution rules.
      */
     public void evolve() {
-        //Evolve based upon Conway's Game of Life rules.
-        if(worldType.equals(GOL_WORLD)) {
-            for(int i = 0; i < rows; ++i) {
-                for(int j = 0; j < columns; ++j) {
-                    if(getCellState(i, j) == ALIVE) {
-                        if(getNeighborCount(ALIVE, i, j) == 0 ||
-                                getNeighborCount(ALIVE, i, j) == 1) {
-                            world[i][j].setFutureState(DEAD);
-                        }
-                        else if(getNeighborCount(ALIVE, i, j) >= 4) {
-                            world[i][j].setFutureState(DEAD);
-                        }
-                        else if(getNeighborCount(ALIVE, i, j) == 2 ||
-                                getNeighborCount(ALIVE, i, j) == 3) {
-                            world[i][j].setFutureState(ALIVE);
-                        }
-                    }
-                    else if(getCellState(i, j) == DEAD) {
-                        if(getNeighborCount(ALIVE, i, j) == 3) {
-                            world[i][j].setFutureState(ALIVE);
-                        }
-                        else {
-                            world[i][j].setFutureState(DEAD);
-                        }
-                    }
+        if(evolveWithEngine()) {
+            return;
+        }
+        //Evolve based upon the World type's rules (see compileRules).
+        sweep(null);
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule string.
+     * Parsing Breakdown:
+     * 111 111 111 111
+     *  A   B   C   D
+     * @see Rule
+     */
+    public void evolve(String ruleString) {
+        evolve(new Rule(ruleString));
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule.  Only
+     * supported by SIR Worlds.  With Carrier Cells considered, the rule's
+     * thresholds are not utilized and new infections are not counted.
+     * @param rule Evolution rule.
+     */
+    public void evolve(Rule rule) {
+        syncPlanes();
+        sweep(rule);
+    }
+
+    /**
+     * Evolves the specified number of generations based upon evolution
+     * rules, stopping early once the World settles.
+     * @param generations Most generations that are to be evolved.
+     * @return Summary of the generations evolved.
+     * @see #evolveUntil(Rule, Predicate, int)
+     */
+    public EvolutionSummary evolve(int generations) {
+        return evolveUntil(null, null, generations);
+    }
+
+    /**
+     * Evolves the specified number of generations based upon the provided
+     * evolution rule, stopping early once the World settles.
+     * @param rule Evolution rule.
+     * @param generations Most generations that are to be evolved.
+     * @return Summary of the generations evolved.
+     * @see #evolveUntil(Rule, Predicate, int)
+     */
+    public EvolutionSummary evolve(Rule rule, int generations) {
+        if(rule == null) {
+            System.err.println("World::evolve - Invalid Rule");
+            System.exit(1);
+        }
+        return evolveUntil(rule, null, generations);
+    }
+
+    /**
+     * Evolves generations based upon evolution rules until the provided
+     * condition holds.
+     * @param condition Condition tested after each generation.
+     * @param maxGenerations Most generations that are to be evolved.
+     * @return Summary of the generations evolved.
+     * @see #evolveUntil(Rule, Predicate, int)
+     */
+    public EvolutionSummary evolveUntil(Predicate<World> condition,
+            int maxGenerations) {
+        return evolveUntil(null, condition, maxGenerations);
+    }
+
+    /**
+     * Evolves generations until the provided condition holds, the World
+     * settles (it is stagnant and no Cell can change on its own, so every
+     * further generation would only make Cells older), or the specified
+     * number of generations have been evolved.  The engine, compiled rules and
+     * scratch space stay loaded from one generation to the next, unless the
+     * condition reads the World's Cells.
+     * @param rule Evolution rule, or null to utilize the World type's rules.
+     * @param condition Condition tested after each generation, or null.
+     * @param maxGenerations Most generations that are to be evolved.
+     * @return Summary of the generations evolved.
+     */
+    public EvolutionSummary evolveUntil(Rule rule,
+            Predicate<World> condition, int maxGenerations) {
+        final int infections = numInfections;
+        int generations = 0;
+        boolean settled = false;
+        boolean conditionMet = false;
+        if(rule != null) {
+            syncPlanes();
+        }
+        while(generations < maxGenerations) {
+            //Without a condition to test, TemporalEngine evolves in blocks.
+            final int evolved = rule == null && condition == null ?
+                evolveBlockWithEngine(maxGenerations - generations) : 0;
+            if(evolved > 0) {
+                generations += evolved;
+            }
+            else {
+                if(rule != null || !evolveWithEngine()) {
+                    sweep(rule);
                 }
+                ++generations;
             }
-            stagnant = stagnant();
-            updateWorld();
-            if(!stagnant) {
-                ++age;
+            if(condition != null && condition.test(this)) {
+                conditionMet = true;
+                break;
+            }
+            if(settled()) {
+                settled = true;
+                break;
             }
         }
-        //Evolve based upon Susceptible Infectious Recovered rules.
-        else if(worldType.equals(SIR_WORLD)) {
+        return new EvolutionSummary(generations,
+                numInfections - infections, settled, conditionMet,
+                stateCounts());
+    }
+
+    /**
+     * Returns whether the World has settled: it is stagnant, and no Cell can
+     * change on its own.  Only CARRIER_I Cells too young to recover can; the
+     * World tracks them per tile, but an engine does not, so Worlds with
+     * Carrier Cells evolved by an engine are never considered settled.  In a
+     * stochastic World a quiet generation may only mean that every draw
+     * failed, so it settles only once no Cell is left that a draw could
+     * change.
+     * @return true if the World has settled.  Returns false otherwise.
+     */
+    private boolean settled() {
+        if(!stagnant) {
+            return false;
+        }
+        if(stochastic) {
+            final long counts[] = stateCounts();
+            return counts[SUSCEPTIBLE] + counts[INFECTED] +
+                counts[CARRIER_U] + counts[CARRIER_I] == 0;
+        }
+        if(engineLoaded) {
+            return worldType.equals(GOL_WORLD) || !allowCarriers;
+        }
+        for(int t = 0; t < tileBusy.length; ++t) {
+            if(tileBusy[t]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of Cells in each state.
+     * @return Number of Cells in each state, indexed by character code.
+     */
+    private long[] stateCounts() {
+        final long counts[] = new long[256];
+        if(engineLoaded) {
             for(int i = 0; i < rows; ++i) {
                 for(int j = 0; j < columns; ++j) {
-                    if(allowCarriers) { //Carrier Cells will be considered...
-                        if(getCellState(i, j) == EMPTY) {
-                            if(allowBirths &&
-                                    getNeighborCount(EMPTY, i, j) >= 2) {
-                                world[i][j].setFutureState(SUSCEPTIBLE);
-                                world[i][j].setFutureAge(0);
-
-                            }
-                            else {
-                                world[i][j].setFutureState(EMPTY);
-                            }
-                        }
-                        else if(getCellState(i, j) == SUSCEPTIBLE) {
-                            if((this.getNeighborCount(INFECTED, i, j) +
-                                    getNeighborCount(CARRIER_I, i, j)) >= 2) {
-                                world[i][j].setFutureState(INFECTED);
-                                ++numInfections; //TODO:Look at me
-                                world[i][j].fage();
-                            }
-                            else {
-                                world[i][j].setFutureState(SUSCEPTIBLE);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == INFECTED) {
-                            if((getNeighborCount(INFECTED, i, j) +
-                                    getNeighborCount(CARRIER_I, i, j)) <= 4 ) {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(INFECTED);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == RECOVERED) {
-                            if(allowBirths &&
-                                    getNeighborCount(RECOVERED, i, j) >= 3) {
-                                world[i][j].setFutureState(EMPTY);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                        }
-                        else if(getCellState(i, j) == CARRIER_U) {
-                            if( (getNeighborCount(INFECTED, i, j) +
-                                    getNeighborCount(CARRIER_I, i, j) >=2)) {
-                                world[i][j].setFutureState(CARRIER_I);
-                                world[i][j].fage();
-                            }
-                            else {
-                                world[i][j].setFutureState(CARRIER_U);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == CARRIER_I) {
-                            if((getNeighborCount(INFECTED, i, j) +
-                                 getNeighborCount(CARRIER_I, i, j)) <= 4 &&
-                                 world[i][j].getAge() >= CARRIER_TSBE) {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(CARRIER_I);
-                                world[i][j].fage();
-                            }
-                        }
-                    }
-                    else if(!allowCarriers) { //Simple SIR (No Carrier Cells)
-                        if(getCellState(i, j) == EMPTY) {
-                            if(allowBirths &&
-                                    getNeighborCount(EMPTY, i, j) >= 2) {
-                                world[i][j].setFutureState(SUSCEPTIBLE);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(EMPTY);
-                                world[i][j].setFutureAge(0);
-                            }
-                        }
-                        else if(getCellState(i, j) == SUSCEPTIBLE) {
-                            if(getNeighborCount(INFECTED, i, j) >= 2) {
-                                world[i][j].setFutureState(INFECTED);
-                                ++numInfections; //TODO:Look at me...Not being reset properly
-                                world[i][j].fage();
-                            }
-                            else {
-                                world[i][j].setFutureState(SUSCEPTIBLE);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == INFECTED) {
-                            if(getNeighborCount(INFECTED, i, j) <= 4) {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(INFECTED);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == RECOVERED) {
-                            if(allowBirths &&
-                                    getNeighborCount(RECOVERED, i, j) >= 3) {
-                                world[i][j].setFutureState(EMPTY);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                        }
-                    }
+                    ++counts[engine.getCellState(i, j) & 0xFF];
                 }
             }
-            stagnant = stagnant();
-            updateWorld();
-            if(!stagnant) {
-                ++age;
+        }
+        else {
+            for(int k = 0; k < state.length; ++k) {
+                ++counts[state[k] & 0xFF];
             }
         }
+        return counts;
+    }
+
+    /**
+     * Moves the World forward one generation, evaluating only the tiles that
+     * may change: those that changed in the previous generation, their
+     * neighbors, and tiles holding CARRIER_I Cells that are still too young
+     * to recover.  Every other tile is left asleep; its future state already
+     * equals its current state, and its Cells' ages follow from their stamps
+     * (see cellAge).  Once the future states are computed they are swapped
+     * with the current ones, so no Cell is ever copied back.
+     * @param rule Evolution rule, or null to utilize the default rules.
+     */
+    private void sweep(Rule rule) {
+        if(rule == null ? sweepRule != null : !rule.equals(sweepRule)) {
+            sweepRule = rule;
+            rules = null;
+            wakeAllTiles();
+        }
+        if(rules == null) {
+            ruleLanes = new long[256];
+            rules = compileRules(worldType, allowBirths, allowCarriers, rule,
+                    ruleLanes);
+        }
+        if(counter == null) {
+            counter = radius > 1 ? WIDE_COUNTER : neighborhoodSize == MOORE ?
+                MOORE_COUNTER : VON_NEUMANN_COUNTER;
+        }
+        if(radius > 1) {
+            sumLanes();
+        }
+        if(infectionKernel != null) {
+            applyKernel();
+        }
+        for(int t = 0; t < tileActive.length; ++t) {
+            tileActive[t] = stochastic || tileBusy[t] ||
+                neighborhoodChanged(t);
+        }
+        if(pool != null && (long) rows * columns >= parallelThreshold &&
+                bands.length > 1) {
+            pool.invoke(new BandTask(0, bands.length));
+        }
         else {
-            System.err.println("World::evolve - World Type Error");
-            System.exit(1);
+            evolveTiles(0, tileRows, bands[0]);
+        }
+        ++sweeps;
+        updateWorld();
+        Arrays.fill(transitions, 0);
+        changes = 0;
+        for(int b = 0; b < bands.length; ++b) {
+            final Band band = bands[b];
+            numInfections += band.infections;
+            changes += band.changes;
+            for(int x = 0; x < TRANSITIONS; ++x) {
+                transitions[x] += band.transitions[x];
+            }
+            band.infections = 0;
+            band.changes = 0;
+            Arrays.fill(band.transitions, 0);
+        }
+        stagnant = changes == 0;
+        if(!stagnant) {
+            ++age;
         }
     }
 
     /**
-     * Changes the world state based upon the provided evolution rule string.
-     * Parsing Breakdown:
-     * 111 111 111 111
-     *  A   B   C   D
+     * Computes the future state of the active tiles within a band of tile
+     * rows, counting each Cell's transition and recording which tiles changed
+     * as each tile is evolved.  Sleeping tiles whose future planes still hold
+     * an older generation are brought level with their current planes.
+     * Bands only write the future state and stamp of their own Cells, so
+     * separate bands can be evolved concurrently.
+     * @param tr0 Index of the band's first tile row.
+     * @param tr1 Index one past the band's last tile row.
+     * @param band Scratch space of the band.
      */
-    public void evolve(String ruleString) {
-        if(worldType.equals(SIR_WORLD)) {
-            for(int i = 0; i < rows; ++i) {
-                for(int j = 0; j < columns; ++j) {
-                    if(allowCarriers) { //Carrier Cells will be considered...
-                        if(getCellState(i, j) == EMPTY) {
-                            if(allowBirths &&
-                                    getNeighborCount(EMPTY, i, j) >= 2) {
-                                world[i][j].setFutureState(SUSCEPTIBLE);
-                                world[i][j].setFutureAge(0);
-
-                            }
-                            else {
-                                world[i][j].setFutureState(EMPTY);
-                            }
-                        }
-                        else if(getCellState(i, j) == SUSCEPTIBLE) {
-                            if((this.getNeighborCount(INFECTED, i, j) +
-                                    getNeighborCount(CARRIER_I, i, j)) >= 2) {
-                                world[i][j].setFutureState(INFECTED);
-                                world[i][j].fage();
-                            }
-                            else {
-                                world[i][j].setFutureState(SUSCEPTIBLE);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == INFECTED) {
-                            if((this.getNeighborCount(INFECTED, i, j) +
-                                    getNeighborCount(CARRIER_I, i, j)) <= 4 ) {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(INFECTED);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == RECOVERED) {
-                            if(allowBirths &&
-                                    getNeighborCount(RECOVERED, i, j) >= 3) {
-                                world[i][j].setFutureState(EMPTY);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                        }
-                        else if(getCellState(i, j) == CARRIER_U) {
-                            if( (getNeighborCount(INFECTED, i, j) +
-                                    getNeighborCount(CARRIER_I, i, j) >= 2)) {
-                                world[i][j].setFutureState(CARRIER_I);
-                                world[i][j].fage();
-                            }
-                            else {
-                                world[i][j].setFutureState(CARRIER_U);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == CARRIER_I) {
-                            if((getNeighborCount(INFECTED, i, j) +
-                                 getNeighborCount(CARRIER_I, i, j)) <= 4 &&
-                                 world[i][j].getAge() >= CARRIER_TSBE) {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(CARRIER_I);
-                                world[i][j].fage();
-                            }
-                        }
+    private void evolveTiles(int tr0, int tr1, Band band) {
+        for(int tr = tr0; tr < tr1; ++tr) {
+            final int rowEnd = Math.min(rows, (tr + 1) * TILE_SIZE);
+            for(int t = tr * tileColumns; t < (tr + 1) * tileColumns; ++t) {
+                tileChanged[t] = false;
+                tileBusy[t] = false;
+                if(tileActive[t]) {
+                    tileStale[t] = true;
+                }
+                else if(tileStale[t]) {
+                    levelTile(t);
+                }
+            }
+            for(int i = tr * TILE_SIZE; i < rowEnd; ++i) {
+                //Runs of adjacent active tiles are evolved as one span.
+                int tc = 0;
+                while(tc < tileColumns) {
+                    if(!tileActive[tr * tileColumns + tc]) {
+                        ++tc;
+                        continue;
                     }
-                    else if(!allowCarriers) { //Simple SIR (No Carrier Cells)
-                        //TODO:Note why I'm inc grayDecode...
-                        if(getCellState(i, j) == EMPTY) { //State 0
-                            if(allowBirths &&
-                                    getNeighborCount(EMPTY, i, j) >=
-                                        GeneticAlgorithm.grayDecode(
-                                                ruleString.substring(0, 3) + 1)) {
-                                world[i][j].setFutureState(SUSCEPTIBLE); // S1
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(EMPTY);
-                                world[i][j].setFutureAge(0);
-                            }
-                        }
-                        else if(getCellState(i, j) == SUSCEPTIBLE) { //State 1
-                            if(getNeighborCount(INFECTED, i, j) >= //S2
-                                GeneticAlgorithm.grayDecode(
-                                        ruleString.substring(3, 6) + 1)) {
-                                world[i][j].setFutureState(INFECTED);
-                                ++numInfections;
-                                world[i][j].fage();
-                            }
-                            else {
-                                world[i][j].setFutureState(SUSCEPTIBLE);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == INFECTED) { //State 2
-                            if(getNeighborCount(INFECTED, i, j) <=
-                                GeneticAlgorithm.grayDecode(
-                                        ruleString.substring(6, 9) + 1)) {
-                                world[i][j].setFutureState(RECOVERED); //S3
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(INFECTED);
-                                world[i][j].fage();
-                            }
-                        }
-                        else if(getCellState(i, j) == RECOVERED) { //State 3
-                            if(allowBirths &&
-                                    getNeighborCount(RECOVERED, i, j) >=
-                                        GeneticAlgorithm.grayDecode(
-                                                ruleString.substring(9, 12) + 1)) {
-                                world[i][j].setFutureState(EMPTY); //S0
-                                world[i][j].setFutureAge(0);
-                            }
-                            else {
-                                world[i][j].setFutureState(RECOVERED);
-                                world[i][j].setFutureAge(0);
-                            }
-                        }
+                    final int spanStart = tc;
+                    while(tc < tileColumns &&
+                            tileActive[tr * tileColumns + tc]) {
+                        ++tc;
+                    }
+                    final int c0 = spanStart * TILE_SIZE;
+                    final int c1 = Math.min(columns, tc * TILE_SIZE);
+                    counter.count(this, i, c0, c1, band);
+                    if(pressure != null) {
+                        applyPressure(i, c0, c1, band);
+                    }
+                    if(stochastic) {
+                        applyChance(i, c0, c1, band);
+                    }
+                    for(int t = tr * tileColumns + spanStart;
+                            t < tr * tileColumns + tc; ++t) {
+                        final int j0 = (t % tileColumns) * TILE_SIZE;
+                        final int j1 = Math.min(columns, j0 + TILE_SIZE);
+                        final int changes = band.changes;
+                        evolveSpan(i, j0, j1, band);
+                        tileChanged[t] |= band.changes != changes;
+                        tileBusy[t] |= band.busy;
                     }
                 }
             }
-            stagnant = stagnant();
-            updateWorld();
-            if(!stagnant) {
-                ++age;
+        }
+    }
+
+    /**
+     * Copies a sleeping tile's current states into the future plane, so that
+     * the tile keeps its state when the planes are next swapped.
+     * @param t Tile index.
+     */
+    private void levelTile(int t) {
+        final int c0 = (t % tileColumns) * TILE_SIZE;
+        final int c1 = Math.min(columns, c0 + TILE_SIZE);
+        final int r0 = (t / tileColumns) * TILE_SIZE;
+        final int r1 = Math.min(rows, r0 + TILE_SIZE);
+        for(int i = r0; i < r1; ++i) {
+            System.arraycopy(state, i * columns + c0, futureState,
+                    i * columns + c0, c1 - c0);
+        }
+        tileStale[t] = false;
+    }
+
+    /**
+     * Computes the future state of a span of Cells by looking up each Cell's
+     * transition in the compiled transition table (see compileRules).  A
+     * Cell's stamp is only rewritten when its age no longer follows from it,
+     * which, in the states that age, is only once the Cell changes state.
+     * @param i Row index (Base zero) of the span.
+     * @param c0 Column index (Base zero) of the span's first Cell.
+     * @param c1 Column index (Base zero) one past the span's last Cell.
+     * @param band Scratch space of the band being evolved.
+     */
+    private void evolveSpan(int i, int c0, int c1, Band band) {
+        final int table[] = rules;
+        final long lanes[] = ruleLanes;
+        final long neighborCounts[] = band.neighborCounts;
+        final boolean stamped[] = this.stamped;
+        final int sweep = sweeps;
+        //One byte lane per transition; a span never exceeds a tile's width.
+        long counts = 0L;
+        int infections = 0;
+        boolean busy = false;
+        for(int j = c0; j < c1; ++j) {
+            final int k = i * columns + j;
+            final int s = state[k] & 0xFF;
+            final int stamp = stamps[k];
+            final int age = stamped[s] ? sweep - stamp : stamp;
+            final int rule = nextRule(table, lanes, s, neighborCounts[j], age);
+            final int futureAge = futureAge(rule, age);
+            final int futureStamp = stamped[rule & 0xFF] ?
+                sweep + 1 - futureAge : futureAge;
+            futureState[k] = (byte) rule;
+            if(futureStamp != stamp) {
+                stamps[k] = futureStamp;
             }
+            counts += ((rule >>> 15) & 1L) <<
+                (((rule >>> TRANSITION_SHIFT) & 7) << 3);
+            infections += (rule >>> 14) & 1;
+            busy |= (rule & RULE_AGING_CARRIER) != 0 &&
+                futureAge <= CARRIER_TSBE;
+        }
+        if(counts != 0L) {
+            for(int x = 0; x < TRANSITIONS; ++x) {
+                band.transitions[x] += (int) (counts >>> (x << 3)) & 0xFF;
+            }
+            band.changes += (int) ((counts * LANE_SUM) >>> 56);
+        }
+        band.infections += infections;
+        band.busy = busy;
+    }
+
+    /**
+     * Looks up a Cell's transition in a compiled transition table.  Every
+     * backend and engine evolves its Cells through this lookup.
+     * @param table Compiled transition table (see compileRules).
+     * @param lanes Lanes counted by the rule of each state.
+     * @param s Current state of the Cell.
+     * @param counts Packed neighbor counts of the Cell (see STATE_LANES).
+     * @param age Current age of the Cell.
+     * @return The Cell's table entry.
+     */
+    static int nextRule(int table[], long lanes[], int s, long counts,
+            int age) {
+        //Only CARRIER_I rules read the age: 1 once it may recover.
+        final int old = (CARRIER_TSBE - 1 - age) >>> 31;
+        final int n = (int) (((counts & lanes[s]) * LANE_SUM) >>> 56);
+        return table[s << 5 | old << 4 | n];
+    }
 
-            else{
-                //System.out.println(this.numInfections);
+    /**
+     * Returns the age a Cell has after the transition of a table entry: one
+     * older if it keeps a state that ages, the same if it keeps one that
+     * does not, and zero if it changes state.
+     * @param rule Table entry of the Cell (see nextRule).
+     * @param age Current age of the Cell.
+     * @return Future age of the Cell.
+     */
+    static int futureAge(int rule, int age) {
+        return (age + ((rule >>> 8) & 1)) & -((rule >>> 9) & 1);
+    }
+
+    /**
+     * Compiles the rules of a World configuration into a dense transition
+     * table, so that evolving a Cell takes a single lookup rather than
+     * walking the rules.  The table is indexed by the Cell's state, by
+     * whether its age allows a CARRIER_I Cell to recover, and by the number
+     * of its neighbors in the states its rule reads (see lanes).  Each
+     * entry holds the Cell's next state, what becomes of its age, the
+     * transition it makes and whether it counts as a new infection.  Cells in
+     * states the rules do not consider keep their state and age.  Thresholds
+     * and the choice of rules are baked into the table, so the evolution
+     * loop never checks the configuration.  Tables are cached by
+     * configuration (world type, births, carriers and rule) and shared by
+     * every World and engine, so a configuration is compiled once however
+     * many Worlds utilize it; callers must never modify the returned table.
+     * @param wt World type.
+     * @param births Whether births are considered.
+     * @param carriers Whether Carrier Cells are considered.
+     * @param rule Evolution rule, or null to utilize the default rules.
+     * @param lanes Receives, per state, the neighbor count lanes its rule
+     * reads (256 entries, indexed by character code).
+     * @return Transition table.
+     * @see #evolve(Rule)
+     */
+    static int[] compileRules(String wt, boolean births,
+            boolean carriers, Rule rule, long lanes[]) {
+        final String key = wt + "/" + births + "/" + carriers + "/" + rule;
+        CompiledRules compiled;
+        synchronized(compiledRules) {
+            compiled = compiledRules.get(key);
+        }
+        if(compiled == null) {
+            final long compiledLanes[] = new long[256];
+            compiled = new CompiledRules(buildRules(wt, births, carriers,
+                        rule, compiledLanes), compiledLanes);
+            synchronized(compiledRules) {
+                compiledRules.put(key, compiled);
             }
+        }
+        System.arraycopy(compiled.lanes, 0, lanes, 0, compiled.lanes.length);
+        return compiled.table;
+    }
+
+    /**
+     * A transition table compiled for one configuration, with the lanes its
+     * rules read.
+     */
+    private static final class CompiledRules {
+        ///Transition Table
+        final int table[];
+        ///Neighbor Count Lanes Read by the Rules of Each State
+        final long lanes[];
 
+        CompiledRules(int t[], long l[]) {
+            table = t;
+            lanes = l;
         }
-        else {
+    }
+
+    /**
+     * Builds the transition table of a World configuration.
+     * @see #compileRules(String, boolean, boolean, Rule, long[])
+     */
+    private static int[] buildRules(String wt, boolean births,
+            boolean carriers, Rule rule, long lanes[]) {
+        final boolean gol = wt.equals(GOL_WORLD);
+        if((!gol && !wt.equals(SIR_WORLD)) ||
+                (gol && rule != null)) {
             System.err.println("World::evolve - World Type Error");
             System.exit(1);
         }
+        final int table[] = new int[256 << 5];
+        for(int s = 0; s < 256; ++s) {
+            for(int x = 0; x < 32; ++x) {
+                table[s << 5 | x] = rule(carriers, (char) s, (char) s,
+                        AGE_KEEP, false);
+            }
+        }
+        if(gol) {
+            lanes[ALIVE] = lanes[DEAD] = 0xFFL << ALIVE_LANE;
+            for(int x = 0; x < 32; ++x) {
+                final int alive = x & 0xF;
+                table[ALIVE << 5 | x] = rule(carriers, ALIVE,
+                        alive == 2 || alive == 3 ? ALIVE : DEAD,
+                        AGE_KEEP, false);
+                table[DEAD << 5 | x] = rule(carriers, DEAD,
+                        alive == 3 ? ALIVE : DEAD, AGE_KEEP, false);
+            }
+        }
+        else if(carriers) { //Carrier Cells will be considered...
+            //Rules only drive the simple SIR rules.
+            final boolean counted = rule == null;
+            lanes[EMPTY] = 0xFFL << EMPTY_LANE;
+            lanes[SUSCEPTIBLE] = lanes[INFECTED] = lanes[CARRIER_U] =
+                lanes[CARRIER_I] = (0xFFL << INFECTED_LANE) |
+                (0xFFL << CARRIER_I_LANE);
+            lanes[RECOVERED] = 0xFFL << RECOVERED_LANE;
+            for(int x = 0; x < 32; ++x) {
+                final int n = x & 0xF;
+                final boolean old = x >= 16;
+                table[EMPTY << 5 | x] = births && n >= 2 ?
+                    rule(carriers, EMPTY, SUSCEPTIBLE, AGE_ZERO, false) :
+                    rule(carriers, EMPTY, EMPTY, AGE_KEEP, false);
+                table[SUSCEPTIBLE << 5 | x] = rule(carriers, SUSCEPTIBLE,
+                        n >= 2 ? INFECTED : SUSCEPTIBLE, AGE_GROW, counted);
+                table[INFECTED << 5 | x] = n <= 4 ?
+                    rule(carriers, INFECTED, RECOVERED, AGE_ZERO, false) :
+                    rule(carriers, INFECTED, INFECTED, AGE_GROW, false);
+                table[RECOVERED << 5 | x] = rule(carriers, RECOVERED,
+                        births && n >= 3 ? EMPTY : RECOVERED, AGE_ZERO,
+                        false);
+                table[CARRIER_U << 5 | x] = rule(carriers, CARRIER_U,
+                        n >= 2 ? CARRIER_I : CARRIER_U, AGE_GROW, false);
+                table[CARRIER_I << 5 | x] = n <= 4 && old ?
+                    rule(carriers, CARRIER_I, RECOVERED, AGE_ZERO, false) :
+                    rule(carriers, CARRIER_I, CARRIER_I, AGE_GROW, false);
+            }
+        }
+        else { //Simple SIR (No Carrier Cells)
+            int birth = 2, infection = 2, recovery = 4, death = 3;
+            if(rule != null) {
+                birth = rule.getBirthThreshold();
+                infection = rule.getInfectionThreshold();
+                recovery = rule.getRecoveryThreshold();
+                death = rule.getDeathThreshold();
+            }
+            lanes[EMPTY] = 0xFFL << EMPTY_LANE;
+            lanes[SUSCEPTIBLE] = lanes[INFECTED] = 0xFFL << INFECTED_LANE;
+            lanes[RECOVERED] = 0xFFL << RECOVERED_LANE;
+            for(int x = 0; x < 32; ++x) {
+                final int n = x & 0xF;
+                table[EMPTY << 5 | x] = rule(carriers, EMPTY,
+                        births && n >= birth ? SUSCEPTIBLE : EMPTY,
+                        AGE_ZERO, false);
+                table[SUSCEPTIBLE << 5 | x] = rule(carriers, SUSCEPTIBLE,
+                        n >= infection ? INFECTED : SUSCEPTIBLE, AGE_GROW,
+                        true);
+                table[INFECTED << 5 | x] = n <= recovery ?
+                    rule(carriers, INFECTED, RECOVERED, AGE_ZERO, false) :
+                    rule(carriers, INFECTED, INFECTED, AGE_GROW, false);
+                table[RECOVERED << 5 | x] = rule(carriers, RECOVERED,
+                        births && n >= death ? EMPTY : RECOVERED,
+                        AGE_ZERO, false);
+            }
+        }
+        return table;
     }
 
+    /**
+     * Encodes a transition table entry.
+     * @param carriers Whether Carrier Cells are considered.
+     * @param from State the Cell is in.
+     * @param to State the Cell will be in.
+     * @param age What becomes of the Cell's age: AGE_ZERO, AGE_KEEP or
+     * AGE_GROW.
+     * @param counted Whether a SUSCEPTIBLE to INFECTED transition counts as a
+     * new infection.
+     * @return Transition table entry.
+     */
+    private static int rule(boolean carriers, char from, char to, int age,
+            boolean counted) {
+        final int transition = transition(from, to);
+        int rule = to | age;
+        if(transition >= 0) {
+            rule |= RULE_CHANGED | transition << TRANSITION_SHIFT;
+        }
+        if(counted && transition == SUSCEPTIBLE_TO_INFECTED) {
+            rule |= RULE_INFECTION;
+        }
+        if(carriers && to == CARRIER_I && age == AGE_GROW) {
+            rule |= RULE_AGING_CARRIER;
+        }
+        return rule;
+    }
 
     /**
      * Sets whether Cell births will be allowed in the SIR model.
@@ -461,7 +875,9 @@ public final class World {
      * the SIR model.
      */
     public void allowBirths(boolean allow) {
+        dropEngine();
         allowBirths = allow;
+        rules = null;
     }
 
     /**
@@ -497,7 +913,7 @@ public final class World {
 
     /**
      * Sets the current state of the Cell located at the specified row and
-     * column to the provided state.
+     * column to the provided state.  The Cell keeps its age.
      * @param row  Row index (Base zero) of the Cell whose current state is to
      * be changed.
      * @param column Column index (Base zero) of the Cell whose current state
@@ -505,7 +921,14 @@ public final class World {
      * @param newState The state value that is to be utilized.
      */
     public void setCellState(int row, int column, char newState) {
-        world[row][column].setState(newState);
+        syncPlanes();
+        final int k = row * columns + column;
+        wakeTile(row, column);
+        if(state[k] != (byte) newState) {
+            final int age = cellAge(k);
+            state[k] = (byte) newState;
+            stamps[k] = stamped[newState & 0xFF] ? sweeps - age : age;
+        }
     }
 
     /**
@@ -518,15 +941,505 @@ public final class World {
     }
 
     /**
-     * Updates World state.  In particular, updates all Cells in the World to
-     * reflect their new state and age.
+     * Returns the number of Cells whose state changed in the last generation.
+     * @return Number of Cells whose state changed in the last generation.
+     */
+    public int getChangeCount() {
+        return changes;
+    }
+
+    /**
+     * Returns the number of Cells that went from one state to another in the
+     * last generation.  Counted transitions: EMPTY to SUSCEPTIBLE,
+     * SUSCEPTIBLE to INFECTED, INFECTED to RECOVERED, RECOVERED to EMPTY,
+     * CARRIER_U to CARRIER_I, CARRIER_I to RECOVERED, DEAD to ALIVE and ALIVE
+     * to DEAD.
+     * @param from State the Cells left.
+     * @param to State the Cells entered.
+     * @return Number of Cells that went from one state to the other in the
+     * last generation.  Returns zero for transitions the rules never make.
+     */
+    public int getTransitionCount(char from, char to) {
+        final int transition = transition(from, to);
+        return transition < 0 ? 0 : transitions[transition];
+    }
+
+    /**
+     * Returns the index of the counter of the specified transition.
+     * @param from State the Cells left.
+     * @param to State the Cells entered.
+     * @return Index of the transition's counter, or -1 if the transition is
+     * not counted.
+     */
+    static int transition(char from, char to) {
+        if(from == EMPTY && to == SUSCEPTIBLE) {
+            return EMPTY_TO_SUSCEPTIBLE;
+        }
+        else if(from == SUSCEPTIBLE && to == INFECTED) {
+            return SUSCEPTIBLE_TO_INFECTED;
+        }
+        else if(from == INFECTED && to == RECOVERED) {
+            return INFECTED_TO_RECOVERED;
+        }
+        else if(from == RECOVERED && to == EMPTY) {
+            return RECOVERED_TO_EMPTY;
+        }
+        else if(from == CARRIER_U && to == CARRIER_I) {
+            return CARRIER_U_TO_CARRIER_I;
+        }
+        else if(from == CARRIER_I && to == RECOVERED) {
+            return CARRIER_I_TO_RECOVERED;
+        }
+        else if(from == DEAD && to == ALIVE) {
+            return DEAD_TO_ALIVE;
+        }
+        else if(from == ALIVE && to == DEAD) {
+            return ALIVE_TO_DEAD;
+        }
+        return -1;
+    }
+
+    /**
+     * Sets the number of threads the World evolves on.  Large Worlds are
+     * split into bands of tile rows that are evolved concurrently; by
+     * default the common fork/join pool is utilized.
+     * @param threads Number of threads to utilize.  A value of one (or less)
+     * makes the World evolve serially.
+     */
+    public void setParallelism(int threads) {
+        dropEngine();
+        if(pool != null && pool != ForkJoinPool.commonPool()) {
+            pool.shutdown();
+        }
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        setBands(threads);
+    }
+
+    /**
+     * Returns the number of threads the World evolves on.
+     * @return Number of threads the World evolves on.
+     */
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * Sets the number of Cells below which the World always evolves serially,
+     * since splitting small Worlds costs more than it saves.
+     * @param cells Minimum number of Cells a World needs to evolve in
+     * parallel.
+     */
+    public void setParallelThreshold(long cells) {
+        dropEngine();
+        parallelThreshold = cells;
+    }
+
+    /**
+     * Returns the number of Cells below which the World evolves serially.
+     * @return Minimum number of Cells a World needs to evolve in parallel.
+     */
+    public long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Allocates the scratch space of the bands the World is split into.  A
+     * few bands per thread are utilized so that threads whose bands happen to
+     * be quiet can pick up more work.
+     * @param threads Number of threads the World evolves on.
+     */
+    private void setBands(int threads) {
+        final int count = threads > 1 ? Math.min(tileRows, threads * 4) : 1;
+        bands = new Band[count];
+        for(int b = 0; b < count; ++b) {
+            bands[b] = new Band(columns);
+        }
+    }
+
+    /**
+     * Scratch space utilized while evolving a band of tile rows.
+     */
+    private static final class Band {
+        ///Packed Neighbor Counts of the Row Being Evolved
+        final long neighborCounts[];
+        ///Per-Column Lane Sums of the Row Being Evolved and Its Neighbors
+        final long columnSums[];
+        ///Lane Values of the Row Being Evolved
+        final long rowLanes[];
+        ///Number of New Infections Produced Within the Band
+        int infections = 0;
+        ///Number of Cells of Each Transition Produced Within the Band
+        final int transitions[] = new int[TRANSITIONS];
+        ///Number of Cells Whose State Changed Within the Band
+        int changes = 0;
+        ///Flag Indicating if the Tile Being Evolved Holds a Young CARRIER_I
+        boolean busy = false;
+
+        Band(int columns) {
+            neighborCounts = new long[columns];
+            columnSums = new long[columns + 2];
+            rowLanes = new long[columns + 2];
+        }
+    }
+
+    /**
+     * Evolves a range of bands, splitting the range in half until a single
+     * band remains.
+     */
+    private final class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        ///Index of the First Band
+        private final int first;
+        ///Index One Past the Last Band
+        private final int last;
+
+        BandTask(int f, int l) {
+            first = f;
+            last = l;
+        }
+
+        protected void compute() {
+            if(last - first > 1) {
+                final int middle = (first + last) >>> 1;
+                invokeAll(new BandTask(first, middle),
+                        new BandTask(middle, last));
+                return;
+            }
+            final int tr0 = (int) ((long) tileRows * first / bands.length);
+            final int tr1 = (int) ((long) tileRows * last / bands.length);
+            evolveTiles(tr0, tr1, bands[first]);
+        }
+    }
+
+    /**
+     * Selects the engine that evolve() utilizes.  Supported engines:
+     * SCALAR_ENGINE (the default), BITBOARD_ENGINE, which evolves Cells 64
+     * at a time, VECTOR_ENGINE, which evolves a SIMD vector of Cells at a
+     * time when the optional VectorEngine is available, and
+     * INCREMENTAL_ENGINE, which keeps neighbor counts up to date as Cells
+     * change and only evolves the Cells whose counts changed,
+     * FRONTIER_ENGINE, which only evolves the Cells next to the ones that
+     * changed, and TEMPORAL_ENGINE, which evolve(int) utilizes to advance
+     * several generations per cache-resident tile.
+     * Configurations that an engine does not support are evolved by the
+     * World itself.
+     * @param name Name of the engine that is to be utilized.
+     */
+    public void setEngine(String name) {
+        dropEngine();
+        engineName = name;
+    }
+
+    /**
+     * Returns the name of the engine selected through setEngine().
+     * @return Name of the selected engine.
+     */
+    public String getEngine() {
+        return engineName;
+    }
+
+    /**
+     * Moves the World forward one generation using the selected engine, if
+     * the engine supports the World's current configuration and Cells.
+     * @return true if the engine evolved the World.  Returns false if the
+     * World has to evolve itself.
+     */
+    private boolean evolveWithEngine() {
+        if(!loadEngine()) {
+            return false;
+        }
+        Arrays.fill(transitions, 0);
+        changes = engine.step(transitions);
+        stagnant = changes == 0;
+        numInfections += engine.getNewInfectionCount();
+        if(!stagnant) {
+            ++age;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the World forward a block of generations using TemporalEngine,
+     * if it is the selected engine and supports the World's current
+     * configuration and Cells.
+     * @param generations Most generations that are to be evolved.
+     * @return Number of generations evolved, or zero if the World has to
+     * evolve itself.
+     * @see TemporalEngine#advance(int, int[], int[])
+     */
+    private int evolveBlockWithEngine(int generations) {
+        if(!engineName.equals(TEMPORAL_ENGINE) || !loadEngine()) {
+            return 0;
+        }
+        final int changed[] = new int[TemporalEngine.BLOCK_DEPTH];
+        Arrays.fill(transitions, 0);
+        final int evolved = ((TemporalEngine) engine).advance(generations,
+                transitions, changed);
+        numInfections += engine.getNewInfectionCount();
+        for(int g = 0; g < evolved; ++g) {
+            if(changed[g] != 0) {
+                ++age;
+            }
+        }
+        changes = changed[evolved - 1];
+        stagnant = changes == 0;
+        return evolved;
+    }
+
+    /**
+     * Creates the selected engine, if needed, and loads the World's planes
+     * into it, if they are not loaded already.
+     * @return true if the engine holds the World's state.  Returns false if
+     * the selected engine does not support the World's current
+     * configuration or Cells.
+     */
+    private boolean loadEngine() {
+        if(engine == null) {
+            engine = createEngine();
+            if(engine == null) {
+                return false;
+            }
+        }
+        if(!engineLoaded) {
+            if(!engine.load(state, cellAges())) {
+                return false;
+            }
+            engineLoaded = true;
+        }
+        return true;
+    }
+
+    /**
+     * Creates the selected engine for the World's current configuration.
+     * @return A new engine, or null if the selected engine does not support
+     * the World's current configuration.
+     */
+    private WorldEngine createEngine() {
+        if(boundary != FIXED_BOUNDARY || radius > 1 ||
+                infectionKernel != null || stochastic) {
+            return null;
+        }
+        if(engineName.equals(BITBOARD_ENGINE) &&
+                worldType.equals(GOL_WORLD)) {
+            return new GolBitboardEngine(rows, columns, neighborhoodSize);
+        }
+        if(engineName.equals(BITBOARD_ENGINE) &&
+                worldType.equals(SIR_WORLD)) {
+            return new SirBitplaneEngine(rows, columns, neighborhoodSize,
+                    allowBirths, allowCarriers);
+        }
+        if(engineName.equals(INCREMENTAL_ENGINE)) {
+            return new IncrementalEngine(rows, columns, neighborhoodSize,
+                    worldType, allowBirths, allowCarriers);
+        }
+        if(engineName.equals(FRONTIER_ENGINE)) {
+            return new FrontierEngine(rows, columns, neighborhoodSize,
+                    worldType, allowBirths, allowCarriers);
+        }
+        if(engineName.equals(TEMPORAL_ENGINE)) {
+            return new TemporalEngine(rows, columns, neighborhoodSize,
+                    worldType, allowBirths, allowCarriers, pool,
+                    parallelThreshold);
+        }
+        if(engineName.equals(VECTOR_ENGINE) && vectorEngineAvailable) {
+            //Loaded by name: the engine is built separately, and needs the
+            //jdk.incubator.vector module at run time.
+            try {
+                return (WorldEngine) Class.forName("VectorEngine")
+                    .getDeclaredConstructor(int.class, int.class, int.class,
+                            String.class, boolean.class, boolean.class)
+                    .newInstance(rows, columns, neighborhoodSize, worldType,
+                            allowBirths, allowCarriers);
+            }
+            catch(ReflectiveOperationException | LinkageError e) {
+                vectorEngineAvailable = false;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the engine's state back into the World's planes, if the engine
+     * currently holds it.  The engine is reloaded on the next evolve().
+     */
+    private void syncPlanes() {
+        if(engineLoaded) {
+            final int ages[] = new int[stamps.length];
+            engine.store(state, ages);
+            setCellAges(ages);
+            System.arraycopy(state, 0, futureState, 0, state.length);
+            wakeAllTiles();
+            engineLoaded = false;
+        }
+    }
+
+    /**
+     * Stores the engine's state back into the World's planes and discards the
+     * engine.  Called whenever the World's configuration changes.
+     */
+    private void dropEngine() {
+        syncPlanes();
+        wakeAllTiles();
+        engine = null;
+    }
+
+    /**
+     * Updates World state.  In particular, makes the future states of all
+     * Cells in the World their current ones by swapping the planes (stamps
+     * are written in place); the tiles' change flags were already recorded
+     * while evolving.
      */
     private void updateWorld() {
-        for(int i = 0; i < rows; ++i) {
-            for(int j = 0; j < columns; ++j) {
-                world[i][j].update();
+        final byte swapState[] = state;
+        state = futureState;
+        futureState = swapState;
+    }
+
+    /**
+     * Returns whether the specified tile or any of the tiles its Cells'
+     * neighborhoods reach into changed in the previous generation.
+     * @param t Tile index.
+     * @return true if the tile's neighborhood changed.  Returns false
+     * otherwise.
+     */
+    private boolean neighborhoodChanged(int t) {
+        final int tr = t / tileColumns;
+        final int tc = t % tileColumns;
+        final int cells = infectionKernel == null ? radius :
+            Math.max(radius, infectionKernel.getReach());
+        final int reach = (cells + TILE_SIZE - 1) / TILE_SIZE;
+        for(int dr = -reach; dr <= reach; ++dr) {
+            final int r = boundaryIndex(tr + dr, tileRows);
+            if(r < 0) {
+                continue;
+            }
+            for(int dc = -reach; dc <= reach; ++dc) {
+                final int c = boundaryIndex(tc + dc, tileColumns);
+                if(c >= 0 && tileChanged[r * tileColumns + c]) {
+                    return true;
+                }
             }
         }
+        return false;
+    }
+
+    /**
+     * Returns the index standing in for a (possibly out of range) row or
+     * column index under the World's boundary condition.
+     * @param i Row or column index.
+     * @param n Number of rows or columns.
+     * @return i if it lies within range.  Otherwise the index of the row or
+     * column that i wraps around to (TOROIDAL_BOUNDARY) or mirrors
+     * (REFLECTIVE_BOUNDARY), or -1 if it is never counted (FIXED_BOUNDARY).
+     */
+    private int boundaryIndex(int i, int n) {
+        if(i >= 0 && i < n) {
+            return i;
+        }
+        if(boundary == TOROIDAL_BOUNDARY) {
+            return Math.floorMod(i, n);
+        }
+        if(boundary == REFLECTIVE_BOUNDARY) {
+            final int m = Math.floorMod(i, 2 * n);
+            return m < n ? m : 2 * n - 1 - m;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the ranges of rows or columns that a (possibly out of range)
+     * run of indices covers under the World's boundary condition.  A run
+     * wrapping around or mirrored at an edge covers several ranges, and may
+     * cover the same index more than once.
+     * @param a First index of the run.
+     * @param b Last index of the run.
+     * @param n Number of rows or columns.
+     * @return Pairs of first and last indices of the ranges covered.
+     * @see #boundaryIndex(int, int)
+     */
+    private int[] boundaryRanges(int a, int b, int n) {
+        if(boundary == FIXED_BOUNDARY) {
+            return new int[] {Math.max(a, 0), Math.min(b, n - 1)};
+        }
+        int ranges[] = new int[0];
+        for(int i = a; i <= b;) {
+            final int period = boundary == TOROIDAL_BOUNDARY ? n : 2 * n;
+            final int m = Math.floorMod(i, period);
+            //Indices run forward until the edge, and backward once mirrored.
+            final int length = m < n ? Math.min(b - i + 1, n - m) :
+                Math.min(b - i + 1, period - m);
+            final int first = m < n ? m : period - m - length;
+            ranges = Arrays.copyOf(ranges, ranges.length + 2);
+            ranges[ranges.length - 2] = first;
+            ranges[ranges.length - 1] = first + length - 1;
+            i += length;
+        }
+        return ranges;
+    }
+
+    /**
+     * Marks every tile as changed, so that the whole World is evaluated in
+     * the next generation.  Called whenever Cells or rules change outside of
+     * evolution.
+     */
+    private void wakeAllTiles() {
+        Arrays.fill(tileChanged, true);
+    }
+
+    /**
+     * Marks the tile holding the specified Cell as changed.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     */
+    private void wakeTile(int row, int column) {
+        tileChanged[(row / TILE_SIZE) * tileColumns + column / TILE_SIZE] =
+            true;
+    }
+
+    /**
+     * Returns the age of a Cell.  Ages are kept as stamps: a Cell in a state
+     * that ages (see stampStates) holds the sweep at which its age was zero,
+     * so its age grows without being written; any other Cell holds its age,
+     * which does not change while the Cell keeps its state.
+     * @param k Cell index.
+     * @return Age of the Cell.
+     */
+    private int cellAge(int k) {
+        return stamped[state[k] & 0xFF] ? sweeps - stamps[k] : stamps[k];
+    }
+
+    /**
+     * Returns the ages of every Cell.
+     * @return Cell ages (Row-Major).
+     */
+    private int[] cellAges() {
+        final int ages[] = new int[stamps.length];
+        for(int k = 0; k < ages.length; ++k) {
+            ages[k] = cellAge(k);
+        }
+        return ages;
+    }
+
+    /**
+     * Sets the ages of every Cell.
+     * @param ages Cell ages (Row-Major).
+     */
+    private void setCellAges(int ages[]) {
+        for(int k = 0; k < ages.length; ++k) {
+            stamps[k] = stamped[state[k] & 0xFF] ? sweeps - ages[k] : ages[k];
+        }
+    }
+
+    /**
+     * Determines which states age every generation under the World's type:
+     * SUSCEPTIBLE and INFECTED (and Carrier Cells, when considered) in SIR
+     * Worlds, none in GOL Worlds.  Every other Cell keeps its age.
+     */
+    private void stampStates() {
+        final boolean sir = worldType.equals(SIR_WORLD);
+        Arrays.fill(stamped, false);
+        stamped[SUSCEPTIBLE] = stamped[INFECTED] = sir;
+        stamped[CARRIER_U] = stamped[CARRIER_I] = sir && allowCarriers;
     }
 
     /**
@@ -535,19 +1448,26 @@ public final class World {
      * @param wt String specifying World type.
      */
     public final void setWorldType(String wt) {
+        dropEngine();
+        final int ages[] = cellAges();
         worldType = wt;
+        stampStates();
+        setCellAges(ages);
+        rules = null;
     }
 
     /**
-     * Populates world based upon Cell probabilities.
+     * Populates world based upon Cell probabilities.  Cells keep their ages.
      * @see changeProbabilities
      */
     public final void populateSIR() {
-        for(int i = 0; i < rows; ++i) {
-            for(int j = 0; j < columns; ++j) {
-                world[i][j].setState(buckets[rng.nextInt(100)]);
-            }
+        syncPlanes();
+        for(int k = 0; k < state.length; ++k) {
+            final int age = cellAge(k);
+            state[k] = (byte) buckets[rng.nextInt(100)];
+            stamps[k] = stamped[state[k] & 0xFF] ? sweeps - age : age;
         }
+        wakeAllTiles();
         //FIXME:Remove...used for GA testing.  Also take a look at the probs.
         //world[10][9].setState(World.INFECTED);
         //world[10][10].setState(World.INFECTED);
@@ -581,23 +1501,6 @@ public final class World {
         }
     }
 
-    /**
-     * Returns whether the world has reached equilibrium.  Does not update
-     * stagnant flag before returning.
-     * @return true if the world has reached equilibrium.  Returns false
-     * otherwise.
-     */
-    private final boolean stagnant() {
-        for(int i = 0; i < rows; ++i) {
-            for(int j = 0; j < columns; ++j) {
-                if(world[i][j].getState() != world[i][j].getFutureState()) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
     /**
      * Sets the neighborhood size that is to be utilized by the World's
      * evolution algorithm.  Two neighborhood types are currently supported:
@@ -606,7 +1509,197 @@ public final class World {
      * World's evolution algorithm.
      */
     public void setNeighborhoodSize(int newSize) {
+        dropEngine();
         neighborhoodSize = newSize;
+        counter = null;
+    }
+
+    /**
+     * Sets the radius of the neighborhood that is to be utilized by the
+     * World's evolution algorithm.  A radius of 1 (the default) utilizes the
+     * neighborhood size; a larger radius utilizes an extended Moore
+     * neighborhood of every Cell within that many rows and columns, whose
+     * counts are read from summed-area tables rebuilt once per generation,
+     * so a Cell costs the same to evolve whatever the radius.  With
+     * fractional thresholds, the rules see a Cell's neighbor counts scaled
+     * (rounding down) to a neighborhood of eight, so each threshold stands
+     * for that many eighths of the neighborhood; otherwise the rules compare
+     * their thresholds with absolute counts.  Only the World itself evolves
+     * Worlds with a wide neighborhood.
+     * @param newRadius Neighborhood radius (1 or more).
+     * @param fractional Whether thresholds are fractions of a wide
+     * neighborhood rather than absolute counts.
+     */
+    public void setNeighborhoodRadius(int newRadius, boolean fractional) {
+        if(newRadius < 1) {
+            System.err.println("World::setNeighborhoodRadius - " +
+                    "Invalid Radius");
+            System.exit(1);
+        }
+        dropEngine();
+        radius = newRadius;
+        fractionalThresholds = fractional;
+        counter = null;
+        rowRanges = null;
+    }
+
+    /**
+     * Sets the kernel infection pressure is computed with, or clears it.
+     * With a kernel, the rules of the states that count INFECTED (and
+     * CARRIER_I) neighbors count the infection pressure on the Cell instead:
+     * the sum of the kernel's weights over the infectious Cells around it,
+     * rounded down, the kernel's center lying on the Cell itself.  The
+     * existing thresholds then apply to the pressure.  A kernel decaying with
+     * distance models Gaussian or power-law dispersal.  Only the World itself
+     * evolves Worlds with a kernel.
+     * @param kernel Kernel weights, with an odd number of rows and an odd
+     * number of columns, or null to count neighbors again.
+     * @see InfectionKernel
+     */
+    public void setInfectionKernel(double kernel[][]) {
+        if(kernel != null) {
+            boolean valid = kernel.length % 2 == 1 && kernel[0] != null &&
+                kernel[0].length % 2 == 1;
+            for(int a = 0; valid && a < kernel.length; ++a) {
+                valid = kernel[a] != null &&
+                    kernel[a].length == kernel[0].length;
+            }
+            if(!valid) {
+                System.err.println("World::setInfectionKernel - " +
+                        "Invalid Kernel");
+                System.exit(1);
+            }
+        }
+        dropEngine();
+        infectionKernel = kernel == null ? null :
+            new InfectionKernel(kernel, rows, columns);
+        pressure = kernel == null ? null : new double[rows * columns];
+        kernelRows = null;
+    }
+
+    /**
+     * Makes infection and recovery in the SIR model random.  Each
+     * generation, a SUSCEPTIBLE (or CARRIER_U) Cell escapes each of its n
+     * infectious neighbors (as its rules count them) with probability
+     * 1 - infection, so it becomes infected with probability
+     * 1 - (1 - infection)^n; an INFECTED Cell (or a CARRIER_I Cell old enough
+     * to recover) recovers with probability recovery.  Births and deaths
+     * still follow their thresholds.  Each draw comes from a counter-based
+     * generator keyed by the seed, the generation and the Cell's row and
+     * column (see chance), never from shared generator state, so a run is
+     * bit-identical whatever the parallelism or tiling.  Every tile is
+     * evaluated every generation, and only the World itself evolves
+     * stochastic Worlds.
+     * @param infection Probability of being infected by each infectious
+     * neighbor.
+     * @param recovery Probability of recovering in a generation.
+     * @param seed Seed of the draws.
+     */
+    public void setStochastic(double infection, double recovery, long seed) {
+        if(!(infection >= 0.0 && infection <= 1.0) ||
+                !(recovery >= 0.0 && recovery <= 1.0)) {
+            System.err.println("World::setStochastic - Invalid Probability");
+            System.exit(1);
+        }
+        dropEngine();
+        stochastic = true;
+        stochasticSeed = seed;
+        for(int n = 0; n < infectionChances.length; ++n) {
+            infectionChances[n] = fixedChance(1.0 -
+                    Math.pow(1.0 - infection, n));
+        }
+        recoveryChance = fixedChance(recovery);
+    }
+
+    /**
+     * Makes infection and recovery in the SIR model follow their thresholds
+     * again.
+     * @see #setStochastic(double, double, long)
+     */
+    public void setDeterministic() {
+        dropEngine();
+        stochastic = false;
+    }
+
+    /**
+     * Returns whether infection and recovery in the SIR model are random.
+     * @return true if the World is stochastic.  Returns false otherwise.
+     */
+    public boolean isStochastic() {
+        return stochastic;
+    }
+
+    /**
+     * Converts a probability to the 53-bit fixed point draws are compared
+     * against.
+     * @param p Probability.
+     * @return Fixed point chance.
+     */
+    private static long fixedChance(double p) {
+        return (long) (p * (1L << 53));
+    }
+
+    /**
+     * Counter-based random draw: a pure function of its key, built from
+     * SplitMix64's mixing function, so that any Cell's draw can be computed
+     * in any order, on any thread.
+     * @param seed Seed of the draws.
+     * @param generation Generation being computed.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return 53 uniformly distributed random bits.
+     */
+    static long chance(long seed, int generation, int row, int column) {
+        long z = mix(seed + 0x9E3779B97F4A7C15L * (generation + 1L));
+        z = mix(z ^ ((long) row << 32 | (column & 0xFFFFFFFFL)));
+        return z >>> 11;
+    }
+
+    /**
+     * SplitMix64's finalizer.
+     * @param z Value to mix.
+     * @return Mixed value.
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the radius of the neighborhood being utilized by the World's
+     * evolution algorithm.
+     * @return Neighborhood radius.
+     * @see #setNeighborhoodRadius(int, boolean)
+     */
+    public int getNeighborhoodRadius() {
+        return radius;
+    }
+
+    /**
+     * Sets the boundary condition that is to be utilized by the World's
+     * evolution algorithm: FIXED_BOUNDARY (the default), where Cells beyond
+     * the edges are never counted; TOROIDAL_BOUNDARY, where the edges wrap
+     * around; or REFLECTIVE_BOUNDARY, where the Cells beyond an edge mirror
+     * the Cells along it.  Only the World itself evolves Worlds whose
+     * boundary is not fixed.
+     * @param newBoundary Boundary condition that is to be utilized.
+     */
+    public void setBoundary(int newBoundary) {
+        dropEngine();
+        boundary = newBoundary;
+        rowRanges = null;
+        kernelRows = null;
+    }
+
+    /**
+     * Returns the boundary condition being utilized by the World's evolution
+     * algorithm.
+     * @return Boundary condition being utilized.
+     */
+    public int getBoundary() {
+        return boundary;
     }
 
     /**
@@ -631,7 +1724,7 @@ public final class World {
         StringBuilder worldString =  new StringBuilder();
         for(int i = 0; i < rows; ++i) {
             for(int j = 0; j < columns; ++j) {
-                worldString.append(world[i][j]);
+                worldString.append("[").append(getCellState(i, j)).append("]");
             }
             worldString.append("\n");
         }
@@ -641,192 +1734,318 @@ public final class World {
 
 
     /**
-     * Returns the neighbor's state northeast of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's northeastern neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Counts the neighbors of a span of Cells in the specified row and stores
+     * the result in the band's neighborCounts.  All counted states are tallied
+     * in a single sweep: each Cell contributes a one-hot byte lane (see
+     * STATE_LANES), so adding lanes counts every state at once.  The World
+     * picks the counter of its neighborhood once, when it is next evolved
+     * after the neighborhood changes, rather than checking the neighborhood
+     * per span.
      */
-    private char getCNENState(int row, int column) {
-        if(row == 0 || column == columns - 1) {
-            return Cell.UNDEFINED;
-        }
-        else {
-            return getCellState(row - 1, column + 1);
-        }
+    private abstract static class NeighborCounter {
+        /**
+         * Counts the neighbors of a span of Cells.
+         * @param world World whose Cells are counted.
+         * @param row Row index (Base zero) of the Cells whose neighbors are
+         * being counted.
+         * @param c0 Column index (Base zero) of the first Cell being counted.
+         * @param c1 Column index (Base zero) one past the last Cell being
+         * counted.
+         * @param band Scratch space the counts are stored in.
+         */
+        abstract void count(World world, int row, int c0, int c1, Band band);
     }
 
     /**
-     * Returns the neighbor's state north of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's northern neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Counts the eight neighbors of the Moore neighborhood from the band's
+     * column sums.
      */
-    private char getCNNState(int row, int column) {
-        if(row == 0) {
-            return Cell.UNDEFINED;
-        }
-        else {
-            return getCellState(row - 1, column);
+    private static final class MooreCounter extends NeighborCounter {
+        void count(World world, int row, int c0, int c1, Band band) {
+            world.sumColumns(row, c0, c1, band);
+            final long neighborCounts[] = band.neighborCounts;
+            final long columnSums[] = band.columnSums;
+            final long rowLanes[] = band.rowLanes;
+            for(int j = c0; j < c1; ++j) {
+                neighborCounts[j] = columnSums[j] + columnSums[j + 1] +
+                    columnSums[j + 2] - rowLanes[j + 1];
+            }
         }
     }
 
     /**
-     * Returns the neighbor's state east of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's eastern neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Counts the four neighbors of the von Neumann neighborhood from the
+     * band's column sums.
      */
-    private char getCENState(int row, int column) {
-        if(column == columns - 1) {
-            return Cell.UNDEFINED;
+    private static final class VonNeumannCounter extends NeighborCounter {
+        void count(World world, int row, int c0, int c1, Band band) {
+            world.sumColumns(row, c0, c1, band);
+            final long neighborCounts[] = band.neighborCounts;
+            final long columnSums[] = band.columnSums;
+            final long rowLanes[] = band.rowLanes;
+            for(int j = c0; j < c1; ++j) {
+                neighborCounts[j] = columnSums[j + 1] - rowLanes[j + 1] +
+                    rowLanes[j] + rowLanes[j + 2];
+            }
         }
-        else {
-            return getCellState(row, column + 1);
+    }
+
+    /**
+     * Counts the extended Moore neighborhood of a radius from the lanes'
+     * summed-area tables.
+     * @see #setNeighborhoodRadius(int, boolean)
+     */
+    private static final class WideCounter extends NeighborCounter {
+        void count(World world, int row, int c0, int c1, Band band) {
+            world.countWideNeighbors(row, c0, c1, band);
         }
     }
 
     /**
-     * Returns the neighbor's state southeast of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's southeastern neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Sums the lanes of each column of the specified row and the rows above
+     * and below it, for the span of Cells and the column on either side.
+     * Column sums are shared by the three Cells whose neighborhoods contain
+     * them.  Neighbors that lie outside valid bounds are never counted.
+     * @param row Row index (Base zero) of the Cells whose neighbors are
+     * being counted.
+     * @param c0 Column index (Base zero) of the first Cell being counted.
+     * @param c1 Column index (Base zero) one past the last Cell being counted.
+     * @param band Scratch space the sums are stored in.
      */
-    private char getCSENState(int row, int column) {
-        if(row == rows - 1 || column == columns - 1) {
-            return Cell.UNDEFINED;
+    private void sumColumns(int row, int c0, int c1, Band band) {
+        final long columnSums[] = band.columnSums;
+        final long rowLanes[] = band.rowLanes;
+        final int base = row * columns;
+        final int north = boundaryIndex(row - 1, rows);
+        final int south = boundaryIndex(row + 1, rows);
+        final int northBase = north * columns;
+        final int southBase = south * columns;
+
+        for(int j = Math.max(0, c0 - 1); j < Math.min(columns, c1 + 1); ++j) {
+            final long center = STATE_LANES[state[base + j] & 0xFF];
+            long sum = center;
+            if(north >= 0) {
+                sum += STATE_LANES[state[northBase + j] & 0xFF];
+            }
+            if(south >= 0) {
+                sum += STATE_LANES[state[southBase + j] & 0xFF];
+            }
+            rowLanes[j + 1] = center;
+            columnSums[j + 1] = sum;
         }
-        else {
-            return getCellState(row + 1, column + 1);
+        //Index zero and columns + 1 hold the halo: the neighbors west of the
+        //first column and east of the last, as the boundary defines them.
+        if(c0 == 0) {
+            haloColumn(0, boundaryIndex(-1, columns), base, north, south,
+                    band);
+        }
+        if(c1 == columns) {
+            haloColumn(columns + 1, boundaryIndex(columns, columns), base,
+                    north, south, band);
         }
     }
 
     /**
-     * Returns the neighbor's state south of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's southern neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Fills one of the halo entries of a band's lane sums with the column the
+     * boundary places beyond an edge.
+     * @param slot Halo index (zero or columns + 1).
+     * @param j Column index standing in for the halo, or -1 if the halo is
+     * never counted.
+     * @param base Index of the row's first Cell.
+     * @param north Row index standing in for the row above, or -1.
+     * @param south Row index standing in for the row below, or -1.
+     * @param band Scratch space of the band being evolved.
      */
-    private char getCSNState(int row, int column) {
-        if(row == rows - 1) {
-            return Cell.UNDEFINED;
-        }
-        else {
-            return getCellState(row + 1, column);
+    private void haloColumn(int slot, int j, int base, int north, int south,
+            Band band) {
+        long center = 0L;
+        long sum = 0L;
+        if(j >= 0) {
+            center = STATE_LANES[state[base + j] & 0xFF];
+            sum = center;
+            if(north >= 0) {
+                sum += STATE_LANES[state[north * columns + j] & 0xFF];
+            }
+            if(south >= 0) {
+                sum += STATE_LANES[state[south * columns + j] & 0xFF];
+            }
         }
+        band.rowLanes[slot] = center;
+        band.columnSums[slot] = sum;
     }
 
     /**
-     * Returns the neighbor's state southwest of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's southwestern neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Rebuilds the summed-area table of each lane the rules read: entry
+     * (i, j) of a lane's table holds the number of Cells in that lane above
+     * and to the left of Cell (i, j), so any rectangle of the World can be
+     * counted with four lookups.  Tables carry an extra zero row and column.
      */
-    private char getCSWNState(int row, int column) {
-        if(row == rows - 1 || column == 0) {
-            return Cell.UNDEFINED;
+    private void sumLanes() {
+        if(rowRanges == null) {
+            laneSums = new int[LANES][];
+            rowRanges = new int[rows][];
+            columnRanges = new int[columns][];
+            for(int i = 0; i < rows; ++i) {
+                rowRanges[i] = boundaryRanges(i - radius, i + radius, rows);
+            }
+            for(int j = 0; j < columns; ++j) {
+                columnRanges[j] = boundaryRanges(j - radius, j + radius,
+                        columns);
+            }
         }
-        else {
-            return getCellState(row + 1, column - 1);
+        long read = 0L;
+        for(int s = 0; s < 256; ++s) {
+            read |= ruleLanes[s];
+        }
+        final int width = columns + 1;
+        for(int l = 0; l < LANES; ++l) {
+            final int shift = l << 3;
+            if(((read >>> shift) & 0xFFL) == 0L) {
+                continue;
+            }
+            if(laneSums[l] == null) {
+                laneSums[l] = new int[(rows + 1) * width];
+            }
+            final int sums[] = laneSums[l];
+            for(int i = 0; i < rows; ++i) {
+                int run = 0;
+                for(int j = 0; j < columns; ++j) {
+                    run += (int) (STATE_LANES[state[i * columns + j] & 0xFF]
+                            >>> shift) & 1;
+                    sums[(i + 1) * width + j + 1] = sums[i * width + j + 1] +
+                        run;
+                }
+            }
         }
     }
 
     /**
-     * Returns the neighbor's state west of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's western neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Computes the infection pressure on every Cell from the current states
+     * (see setInfectionKernel).
      */
-    private char getCWNState(int row, int column) {
-        if(column == 0) {
-            return Cell.UNDEFINED;
-        }
-        else {
-            return getCellState(row, column - 1);
+    private void applyKernel() {
+        if(kernelRows == null) {
+            final int reach = infectionKernel.getReach();
+            kernelRows = new int[rows + 2 * reach];
+            kernelColumns = new int[columns + 2 * reach];
+            for(int y = 0; y < kernelRows.length; ++y) {
+                kernelRows[y] = boundaryIndex(y - reach, rows);
+            }
+            for(int x = 0; x < kernelColumns.length; ++x) {
+                kernelColumns[x] = boundaryIndex(x - reach, columns);
+            }
         }
+        final long infectious = STATE_LANES[INFECTED] |
+            (allowCarriers ? STATE_LANES[CARRIER_I] : 0L);
+        infectionKernel.convolve(state, infectious, kernelRows,
+                kernelColumns, pressure);
     }
 
     /**
-     * Returns the neighbor's state northwest of the Cell located at the
-     * specified row and column.
-     * row column.
-     * @param row  Row index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @param column Column index (Base zero) of the Cell whose neighbor is
-     * being queried.
-     * @return The Cell's northwestern neighbor's state.  If the neighbor lies
-     * outside valid bounds, the value of UNDEFINED is returned.
+     * Replaces the INFECTED counts of a span of Cells with the infection
+     * pressure on them, for the states whose rules count INFECTED neighbors.
+     * @param row Row index (Base zero) of the span.
+     * @param c0 Column index (Base zero) of the span's first Cell.
+     * @param c1 Column index (Base zero) one past the span's last Cell.
+     * @param band Scratch space the counts are stored in.
      */
-    private char getCNWNState(int row, int column) {
-        if(row == 0 || column == 0) {
-            return Cell.UNDEFINED;
+    private void applyPressure(int row, int c0, int c1, Band band) {
+        final long neighborCounts[] = band.neighborCounts;
+        final long infected = 0xFFL << INFECTED_LANE;
+        for(int j = c0; j < c1; ++j) {
+            final int k = row * columns + j;
+            if((ruleLanes[state[k] & 0xFF] & infected) == 0L) {
+                continue;
+            }
+            final double p = pressure[k] + PRESSURE_TOLERANCE;
+            neighborCounts[j] = p < 1.0 ? 0L :
+                (long) Math.min(p, 15.0) << INFECTED_LANE;
         }
-        else {
-            return getCellState(row - 1, column - 1);
+    }
+
+    /**
+     * Draws the infections and recoveries of a span of Cells (see
+     * setStochastic) and replaces the INFECTED counts of the Cells that drew
+     * with a count that makes the thresholds carry out the draw's outcome:
+     * 15 for an infection or a failed recovery, zero otherwise.
+     * @param row Row index (Base zero) of the span.
+     * @param c0 Column index (Base zero) of the span's first Cell.
+     * @param c1 Column index (Base zero) one past the span's last Cell.
+     * @param band Scratch space the counts are stored in.
+     */
+    private void applyChance(int row, int c0, int c1, Band band) {
+        final long neighborCounts[] = band.neighborCounts;
+        for(int j = c0; j < c1; ++j) {
+            final int s = state[row * columns + j] & 0xFF;
+            final boolean infection = s == SUSCEPTIBLE || s == CARRIER_U;
+            if(!infection && s != INFECTED && s != CARRIER_I) {
+                continue;
+            }
+            final long draw = chance(stochasticSeed, sweeps, row, j);
+            boolean hit;
+            if(infection) {
+                final int n = (int) (((neighborCounts[j] & ruleLanes[s]) *
+                            LANE_SUM) >>> 56);
+                hit = draw < infectionChances[Math.min(n, 15)];
+            }
+            else {
+                hit = draw < recoveryChance;
+            }
+            neighborCounts[j] = (infection == hit ? 15L : 0L) <<
+                INFECTED_LANE;
         }
     }
 
     /**
-     * Returns the number of neighbors (in the specified state) of the
-     * Cell located at the specified row and column.  The return value takes
-     * neighborhood size into consideration.
-     * @param state  Cell state that count takes into consideration.
-     * @param row Row index (Base zero) of the Cell whose neighbors are
+     * Counts the wide neighborhoods of a span of Cells in the specified row
+     * from the lanes' summed-area tables (see sumLanes).  Only the count a
+     * Cell's rule reads is computed, scaled or capped to fit the transition
+     * table, and stored in the first lane the rule reads, so evolveSpan sums
+     * it exactly as it sums ordinary counts.
+     * @param row Row index (Base zero) of the Cells whose neighbors are
      * being counted.
-     * @param column Column index (Base zero) of the Cell whose neighbors are
-     * being counted.
-     * @return Neighbor count of the Cell located at the specified row and
-     * column.
+     * @param c0 Column index (Base zero) of the first Cell being counted.
+     * @param c1 Column index (Base zero) one past the last Cell being counted.
+     * @param band Scratch space the counts are stored in.
+     * @see #setNeighborhoodRadius(int, boolean)
      */
-    private int getNeighborCount(char state, int row, int column) {
-        int nc = 0; //Neighbor Count
-
-        if(getCNNState(row, column) == state) { ++nc; }
-        if(getCENState(row, column) == state) { ++nc; }
-        if(getCSNState(row, column) == state) { ++nc; }
-        if(getCWNState(row, column) == state) { ++nc; }
-
-        if(neighborhoodSize == MOORE) {
-            if(getCNENState(row, column) == state) { ++nc; }
-            if(getCSENState(row, column) == state) { ++nc; }
-            if(getCSWNState(row, column) == state) { ++nc; }
-            if(getCNWNState(row, column) == state) { ++nc; }
+    private void countWideNeighbors(int row, int c0, int c1, Band band) {
+        final long neighborCounts[] = band.neighborCounts;
+        final int rowRange[] = rowRanges[row];
+        final int neighbors = (2 * radius + 1) * (2 * radius + 1) - 1;
+        final int width = columns + 1;
+        for(int j = c0; j < c1; ++j) {
+            final int s = state[row * columns + j] & 0xFF;
+            final long read = ruleLanes[s];
+            if(read == 0L) {
+                neighborCounts[j] = 0L;
+                continue;
+            }
+            final int columnRange[] = columnRanges[j];
+            //The Cell itself lies within every range it is counted in.
+            int count = -Long.bitCount(STATE_LANES[s] & read);
+            for(int l = 0; l < LANES; ++l) {
+                if(((read >>> (l << 3)) & 0xFFL) == 0L) {
+                    continue;
+                }
+                final int sums[] = laneSums[l];
+                for(int a = 0; a < rowRange.length; a += 2) {
+                    final int top = rowRange[a] * width;
+                    final int bottom = (rowRange[a + 1] + 1) * width;
+                    for(int b = 0; b < columnRange.length; b += 2) {
+                        final int left = columnRange[b];
+                        final int right = columnRange[b + 1] + 1;
+                        count += sums[bottom + right] - sums[top + right] -
+                            sums[bottom + left] + sums[top + left];
+                    }
+                }
+            }
+            if(fractionalThresholds) {
+                count = 8 * count / neighbors;
+            }
+            neighborCounts[j] = (long) Math.min(count, 15) <<
+                Long.numberOfTrailingZeros(read);
         }
-        return nc;
     }
 
     /**
@@ -838,6 +2057,8 @@ public final class World {
         stagnant = false;
         age = 0;
         numInfections = 0;
+        changes = 0;
+        Arrays.fill(transitions, 0);
     }
 
     /**
@@ -851,17 +2072,14 @@ public final class World {
      * will take.
      */
     public void reset(char state) {
+        syncPlanes();
         stagnant = false;
         age = 0;
         numInfections = 0;
-        for(int i = 0; i < rows; ++i) {
-            for(int j = 0; j < columns; ++j) {
-                world[i][j].setState(state);
-                world[i][j].setAge(0);
-                world[i][j].setFutureState(Cell.UNDEFINED);
-                world[i][j].setFutureAge(0);
-            }
-        }
+        Arrays.fill(this.state, (byte) state);
+        Arrays.fill(stamps, stamped[state & 0xFF] ? sweeps : 0);
+        Arrays.fill(futureState, (byte) Cell.UNDEFINED);
+        wakeAllTiles();
     }
 
     /**
@@ -870,7 +2088,12 @@ public final class World {
      * introduced into the SIR model.
      */
     public void allowCarriers(boolean allow) {
+        dropEngine();
+        final int ages[] = cellAges();
         allowCarriers = allow;
+        stampStates();
+        setCellAges(ages);
+        rules = null;
     }
 
     /**
@@ -891,6 +2114,65 @@ public final class World {
      * within the World grid.
      */
     public char getCellState(int row, int column) {
-        return world[row][column].getState();
+        if(engineLoaded) {
+            return engine.getCellState(row, column);
+        }
+        return (char) state[row * columns + column];
+    }
+
+    /**
+     * Returns the number of neighbors of the Cell located at the specified
+     * row and column that are in the specified state, under the World's
+     * neighborhood size, radius and boundary condition.  While
+     * INCREMENTAL_ENGINE evolves the World, counts of the states the rules
+     * count (EMPTY, INFECTED, RECOVERED, CARRIER_I and ALIVE) are read
+     * straight from its count planes.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @param s State whose Cells are counted.
+     * @return Number of neighbors in the state.
+     */
+    public int getNeighborCount(int row, int column, char s) {
+        if(engineLoaded && engine instanceof IncrementalEngine &&
+                s < STATE_LANES.length && STATE_LANES[s] != 0L) {
+            return ((IncrementalEngine) engine).getNeighborCount(row, column,
+                    s);
+        }
+        int count = 0;
+        for(int dr = -radius; dr <= radius; ++dr) {
+            for(int dc = -radius; dc <= radius; ++dc) {
+                if((dr == 0 && dc == 0) || (radius == 1 &&
+                        neighborhoodSize != MOORE && dr != 0 && dc != 0)) {
+                    continue;
+                }
+                final int r = boundaryIndex(row + dr, rows);
+                final int c = boundaryIndex(column + dc, columns);
+                if(r >= 0 && c >= 0 && getCellState(r, c) == s) {
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a Cell view of the Cell located at the specified row and column
+     * within the World.  The World does not store Cell objects, so the
+     * returned Cell is a snapshot of the Cell's state and age; between
+     * generations a Cell's future state and age equal its current ones.
+     * Changes made to the returned Cell are not reflected in the World.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return Snapshot of the Cell located at the specified row and column
+     * within the World grid.
+     */
+    public Cell getCell(int row, int column) {
+        syncPlanes();
+        final int k = row * columns + column;
+        Cell cell = new Cell((char) state[k]);
+        cell.setFutureState((char) state[k]);
+        cell.setAge(cellAge(k));
+        cell.setFutureAge(cellAge(k));
+        return cell;
     }
 }
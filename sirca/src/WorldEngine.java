@@ -0,0 +1,80 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+
+/**
+ * An alternative representation of a World's Cells, together with the
+ * evolution algorithm that operates on it.  A World that has been asked to
+ * use an engine loads its state planes into the engine, lets the engine
+ * evolve the Cells for as long as the World's configuration remains
+ * supported, and stores the engine's state back into its planes whenever it
+ * needs them again.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ */
+
+interface WorldEngine {
+    /**
+     * Loads the engine's representation from the provided World planes.
+     * @param state Current Cell states (Row-major, one character code per
+     * Cell).
+     * @param ages Current Cell ages (Row-major).
+     * @return true if every Cell could be represented by the engine.  Returns
+     * false otherwise, in which case the World evolves the Cells itself.
+     */
+    boolean load(byte state[], int ages[]);
+
+    /**
+     * Stores the engine's representation into the provided World planes.
+     * @param state Current Cell states (Row-major, one character code per
+     * Cell).
+     * @param ages Current Cell ages (Row-major).
+     */
+    void store(byte state[], int ages[]);
+
+    /**
+     * Moves the engine's Cells forward one generation.
+     * @param transitions Per-transition counters (indexed by the World's
+     * transition indices, such as World.SUSCEPTIBLE_TO_INFECTED) that the
+     * Cells changing state are added to.
+     * @return Number of Cells whose state changed.
+     */
+    int step(int transitions[]);
+
+    /**
+     * Returns the number of new infections produced by the last step().
+     * @return Number of new infections produced by the last step().
+     */
+    int getNewInfectionCount();
+
+    /**
+     * Returns the current state of the Cell located at the specified row and
+     * column.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return Current state of the Cell located at the specified row and
+     * column.
+     */
+    char getCellState(int row, int column);
+}
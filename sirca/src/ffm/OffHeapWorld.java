@@ -0,0 +1,394 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * A World whose state and age planes live off the Java heap, in memory
+ * segments owned by an Arena.  Cells are addressed with long offsets, so the
+ * number of Cells is not limited by the size of a Java array, and the planes
+ * never add to garbage collection work however large they are.  The memory
+ * is released by close(); an OffHeapWorld must not be utilized afterwards.
+ *
+ * Cells evolve exactly as in a World (the same compiled transition table is
+ * utilized), one row at a time; neighbor counts are computed per row with the
+ * same packed lanes.  Needs the Foreign Function and Memory API (JDK 22 or
+ * later), so it is built separately from the rest of the code (see the
+ * README).
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ * @see World
+ */
+
+public final class OffHeapWorld implements AutoCloseable {
+    ///Arena Owning the Planes
+    private final Arena arena;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Number of Cell Rows
+    private final int rows;
+    ///Current Cell States (Row-Major, One Character Code Per Cell)
+    private MemorySegment state;
+    ///Future Cell States (Row-Major, One Character Code Per Cell)
+    private MemorySegment futureState;
+    ///Current Cell Ages (Row-Major, One Int Per Cell)
+    private MemorySegment ages;
+    ///Future Cell Ages (Row-Major, One Int Per Cell)
+    private MemorySegment futureAges;
+    ///Number of New Infections Produced
+    private long numInfections = 0;
+    ///Flag Indicating if World Has Reached Equilibrium
+    private boolean stagnant = false;
+    ///Number of Generations Passed
+    private int age = 0;
+    ///Number of Cells of Each Transition Produced by the Last Generation
+    private final long transitions[] = new long[World.TRANSITIONS];
+    ///Number of Cells Whose State Changed in the Last Generation
+    private long changes = 0;
+    ///Current Neighborhood Size Being Utilized
+    private int neighborhoodSize;
+    ///String Representing Current World Type, Either: "SIR" or "GOL"
+    private final String worldType;
+    ///Flag Indicating if Births Are Considered in Evolution Algorithm
+    private boolean allowBirths = false;
+    ///Flag Indicating if Carriers Are Considered in Evolution Algorithm
+    private boolean allowCarriers = false;
+    ///Rule Utilized by the Last Generation, or null for the Default Rules
+    private Rule sweepRule = null;
+    ///Compiled Transition Table, or null Until the Next evolve() Compiles It
+    private int rules[] = null;
+    ///Neighbor Count Lanes Read by the Rules of Each State
+    private final long ruleLanes[] = new long[256];
+    ///Packed Neighbor Counts of the Row Being Evolved
+    private final long neighborCounts[];
+    ///Per-Column Lane Sums of the Row Being Evolved and Its Neighbors
+    private final long columnSums[];
+    ///Lane Values of the Row Being Evolved
+    private final long rowLanes[];
+
+    /**
+     * Constructs a new OffHeapWorld.  SIR Worlds start out EMPTY and GOL
+     * Worlds DEAD, with every Cell at age zero.
+     * @param r Number of cell rows that the world will contain.
+     * @param c Number of cell columns that the world will contain.
+     * @param wType World Type (Supported Types: "SIR" or "GOL").
+     * @param nSize Initial neighborhood size
+     * (Supported Types: VON_NEUMANN, MOORE).
+     */
+    public OffHeapWorld(int r, int c, String wType, int nSize) {
+        if(!wType.equals(World.SIR_WORLD) && !wType.equals(World.GOL_WORLD)) {
+            System.err.println("OffHeapWorld::Error While Initializing " +
+                    "World Type");
+            System.exit(1);
+        }
+        rows = r;
+        columns = c;
+        worldType = wType;
+        neighborhoodSize = nSize;
+        final long cells = (long) rows * columns;
+        arena = Arena.ofShared();
+        state = arena.allocate(cells, 1);
+        futureState = arena.allocate(cells, 1);
+        ages = arena.allocate(cells * Integer.BYTES, Integer.BYTES);
+        futureAges = arena.allocate(cells * Integer.BYTES, Integer.BYTES);
+        neighborCounts = new long[columns];
+        columnSums = new long[columns + 2];
+        rowLanes = new long[columns + 2];
+        reset(wType.equals(World.GOL_WORLD) ? World.DEAD : World.EMPTY);
+    }
+
+    /**
+     * Releases the World's planes.  The World can not be utilized afterwards.
+     */
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Returns the current state of the Cell located at the specified row and
+     * column.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return Current state of the Cell.
+     */
+    public char getCellState(int row, int column) {
+        return (char) state.get(ValueLayout.JAVA_BYTE,
+                (long) row * columns + column);
+    }
+
+    /**
+     * Returns the current age of the Cell located at the specified row and
+     * column.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @return Current age of the Cell.
+     */
+    public int getCellAge(int row, int column) {
+        return ages.getAtIndex(ValueLayout.JAVA_INT,
+                (long) row * columns + column);
+    }
+
+    /**
+     * Sets the current state of the Cell located at the specified row and
+     * column.  The Cell keeps its age.
+     * @param row Row index (Base zero).
+     * @param column Column index (Base zero).
+     * @param newState The state value that is to be utilized.
+     */
+    public void setCellState(int row, int column, char newState) {
+        state.set(ValueLayout.JAVA_BYTE, (long) row * columns + column,
+                (byte) newState);
+    }
+
+    /**
+     * Resets the World's state.  In particular, sets the World's age,
+     * infection count and change counts to zero, sets the stagnant flag to
+     * false, and sets every Cell to the specified state at age zero.
+     * @param s State that all Cells will take.
+     */
+    public void reset(char s) {
+        stagnant = false;
+        age = 0;
+        numInfections = 0;
+        changes = 0;
+        Arrays.fill(transitions, 0);
+        state.fill((byte) s);
+        ages.fill((byte) 0);
+    }
+
+    /**
+     * Changes the world state based upon the World type's default rules.
+     */
+    public void evolve() {
+        sweep(null);
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule string.
+     * @param ruleString Evolution rule string.
+     * @see Rule
+     */
+    public void evolve(String ruleString) {
+        evolve(new Rule(ruleString));
+    }
+
+    /**
+     * Changes the world state based upon the provided evolution rule.  Only
+     * supported by SIR Worlds.
+     * @param rule Evolution rule.
+     * @see World#evolve(Rule)
+     */
+    public void evolve(Rule rule) {
+        sweep(rule);
+    }
+
+    /**
+     * Moves the World forward one generation, one row at a time, and then
+     * swaps the current and future planes.
+     * @param rule Evolution rule, or null to utilize the default rules.
+     */
+    private void sweep(Rule rule) {
+        if(rule == null ? sweepRule != null : !rule.equals(sweepRule)) {
+            sweepRule = rule;
+            rules = null;
+        }
+        if(rules == null) {
+            rules = World.compileRules(worldType, allowBirths, allowCarriers,
+                    rule, ruleLanes);
+        }
+        Arrays.fill(transitions, 0);
+        changes = 0;
+        for(int i = 0; i < rows; ++i) {
+            countNeighbors(i);
+            evolveRow(i);
+        }
+        MemorySegment swap = state;
+        state = futureState;
+        futureState = swap;
+        swap = ages;
+        ages = futureAges;
+        futureAges = swap;
+        stagnant = changes == 0;
+        if(!stagnant) {
+            ++age;
+        }
+    }
+
+    /**
+     * Computes the future state and age of a row of Cells by looking up each
+     * Cell's transition in the compiled transition table.
+     * @param i Row index (Base zero).
+     * @see World#compileRules
+     */
+    private void evolveRow(int i) {
+        final long base = (long) i * columns;
+        for(int j = 0; j < columns; ++j) {
+            final long k = base + j;
+            final int s = state.get(ValueLayout.JAVA_BYTE, k) & 0xFF;
+            final int cellAge = ages.getAtIndex(ValueLayout.JAVA_INT, k);
+            final int rule = World.nextRule(rules, ruleLanes, s,
+                    neighborCounts[j], cellAge);
+            futureState.set(ValueLayout.JAVA_BYTE, k, (byte) rule);
+            futureAges.setAtIndex(ValueLayout.JAVA_INT, k,
+                    World.futureAge(rule, cellAge));
+            if((rule & World.RULE_CHANGED) != 0) {
+                ++transitions[(rule >>> World.TRANSITION_SHIFT) & 7];
+                ++changes;
+                if((rule & World.RULE_INFECTION) != 0) {
+                    ++numInfections;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the neighbors of a row of Cells and stores the result in
+     * neighborCounts, packed one byte lane per counted state exactly as
+     * World does.  Neighbors that lie outside valid bounds are never counted.
+     * @param row Row index (Base zero).
+     */
+    private void countNeighbors(int row) {
+        final long base = (long) row * columns;
+        final boolean hasNorth = row > 0;
+        final boolean hasSouth = row < rows - 1;
+        for(int j = 0; j < columns; ++j) {
+            final long center = World.STATE_LANES[
+                state.get(ValueLayout.JAVA_BYTE, base + j) & 0xFF];
+            long sum = center;
+            if(hasNorth) {
+                sum += World.STATE_LANES[state.get(ValueLayout.JAVA_BYTE,
+                        base - columns + j) & 0xFF];
+            }
+            if(hasSouth) {
+                sum += World.STATE_LANES[state.get(ValueLayout.JAVA_BYTE,
+                        base + columns + j) & 0xFF];
+            }
+            rowLanes[j + 1] = center;
+            columnSums[j + 1] = sum;
+        }
+        if(neighborhoodSize == World.MOORE) {
+            for(int j = 0; j < columns; ++j) {
+                neighborCounts[j] = columnSums[j] + columnSums[j + 1] +
+                    columnSums[j + 2] - rowLanes[j + 1];
+            }
+        }
+        else {
+            for(int j = 0; j < columns; ++j) {
+                neighborCounts[j] = columnSums[j + 1] - rowLanes[j + 1] +
+                    rowLanes[j] + rowLanes[j + 2];
+            }
+        }
+    }
+
+    /**
+     * Sets whether Cell births will be allowed in the SIR model.
+     * @param allow Indicates whether Cell births will be allowed.
+     */
+    public void allowBirths(boolean allow) {
+        allowBirths = allow;
+        rules = null;
+    }
+
+    /**
+     * Sets whether Carrier Cells will be considered in the SIR model.
+     * @param allow Indicates whether Carrier Cells will be considered.
+     */
+    public void allowCarriers(boolean allow) {
+        allowCarriers = allow;
+        rules = null;
+    }
+
+    /**
+     * Sets the neighborhood size that is to be utilized.
+     * @param newSize Neighborhood size (VON_NEUMANN or MOORE).
+     */
+    public void setNeighborhoodSize(int newSize) {
+        neighborhoodSize = newSize;
+    }
+
+    /**
+     * Returns whether the world has reached equilibrium.
+     * @return true if no Cell changed in the last generation.  Returns false
+     * otherwise.
+     */
+    public boolean isStagnant() {
+        return stagnant;
+    }
+
+    /**
+     * Returns the current number of generations that have passed.
+     * @return Number of generations that have passed.
+     */
+    public int getNumGenerations() {
+        return age;
+    }
+
+    /**
+     * Returns the number of new infections produced.
+     * @return Number of new infections produced.
+     */
+    public long getNewInfectionCount() {
+        return numInfections;
+    }
+
+    /**
+     * Returns the number of Cells whose state changed in the last generation.
+     * @return Number of Cells whose state changed in the last generation.
+     */
+    public long getChangeCount() {
+        return changes;
+    }
+
+    /**
+     * Returns the number of Cells that went from one state to another in the
+     * last generation.
+     * @param from State the Cells left.
+     * @param to State the Cells entered.
+     * @return Number of Cells that made the transition.
+     * @see World#getTransitionCount(char, char)
+     */
+    public long getTransitionCount(char from, char to) {
+        final int transition = World.transition(from, to);
+        return transition < 0 ? 0 : transitions[transition];
+    }
+
+    /**
+     * Returns the number of Cell rows.
+     * @return Number of Cell rows.
+     */
+    public int getNumRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of Cell columns.
+     * @return Number of Cell columns.
+     */
+    public int getNumColumns() {
+        return columns;
+    }
+}
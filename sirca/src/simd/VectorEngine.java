@@ -0,0 +1,327 @@
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+// Copyright (c) 2008-2024 Samuel K. Gutierrez All Rights Reserved.           //
+//                                                                            //
+// This program is free software; you can redistribute it and/or modify it    //
+// under the terms of the GNU General Public License as published by the Free //
+// Software Foundation; either version 2 of the License, or (at your option)  //
+// any later version.                                                         //
+//                                                                            //
+// This program is distributed in the hope that it will be useful, but WITHOUT//
+// ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or      //
+// FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for  //
+// more details.                                                              //
+//                                                                            //
+// You should have received a copy of the GNU General Public License along    //
+// with this program; if not, write to the Free Software Foundation, Inc., 59 //
+// Temple Place, Suite 330, Boston, MA  02111-1307  USA                       //
+//                                                                            //
+//----------------------------------------------------------------------------//
+//                                                                            //
+//----------------------------------------------------------------------------//
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD engine built on the incubating Vector API.  Cells are kept one byte
+ * per Cell (their character code), exactly as the World stores them, and a
+ * full vector of Cells is evolved per iteration: neighbor counts are sums of
+ * lane-wise compares of the shifted neighbor rows, and the default SIR (or
+ * Game of Life) rules become compares and blends.  Ages are evolved in int
+ * vectors with as many lanes as the byte vectors, so the int species
+ * preferred by the running CPU decides the width of both.
+ *
+ * Results, ages included, are identical to the World's own evolution.
+ * The engine needs the jdk.incubator.vector module, so it is built and
+ * loaded separately from the rest of the code (see the README); the World
+ * falls back to evolving Cells itself when it cannot be loaded.
+ * @author Samuel K. Gutierrez
+ * @version 0.01
+ */
+
+final class VectorEngine implements WorldEngine {
+    ///Int Species Utilized for Ages, as Preferred by the Running CPU
+    private static final VectorSpecies<Integer> INTS;
+    ///Byte Species Utilized for States, With as Many Lanes as INTS
+    private static final VectorSpecies<Byte> BYTES;
+    static {
+        VectorSpecies<Integer> ints = IntVector.SPECIES_PREFERRED;
+        //The narrowest byte vector holds eight lanes.
+        if(ints.length() < 8) {
+            ints = IntVector.SPECIES_256;
+        }
+        INTS = ints;
+        BYTES = VectorSpecies.of(byte.class,
+                VectorShape.forBitSize(ints.length() * 8));
+    }
+
+    ///Number of Cell Rows
+    private final int rows;
+    ///Number of Cell Columns
+    private final int columns;
+    ///Distance Between Rows in the Padded Planes
+    private final int stride;
+    ///Flag Indicating if a Moore Neighborhood is Being Utilized
+    private final boolean moore;
+    ///Flag Indicating if Game of Life Rules Are Utilized Rather Than SIR
+    private final boolean gol;
+    ///Flag Indicating if Births Are Considered
+    private final boolean allowBirths;
+    ///Flag Indicating if Carriers Are Considered
+    private final boolean allowCarriers;
+
+    //Padded Planes: A Zero Border Row and Column Around the Cells, Plus
+    //Enough Slack Past Each Row for a Vector That Starts at its Last Cell.
+    private byte state[];
+    private byte nextState[];
+    private int ages[];
+    private int nextAges[];
+    ///Number of New Infections Produced By the Last Generation
+    private int newInfections = 0;
+
+    /**
+     * Constructs a new VectorEngine utilizing the default rules of the
+     * provided World type.
+     * @param r Number of Cell rows.
+     * @param c Number of Cell columns.
+     * @param nSize Neighborhood size (VON_NEUMANN or MOORE).
+     * @param wType World type (SIR_WORLD or GOL_WORLD).
+     * @param births Whether births are considered.
+     * @param carriers Whether Carrier Cells are considered.
+     */
+    VectorEngine(int r, int c, int nSize, String wType, boolean births,
+            boolean carriers) {
+        rows = r;
+        columns = c;
+        stride = columns + BYTES.length() + 2;
+        moore = nSize == World.MOORE;
+        gol = wType.equals(World.GOL_WORLD);
+        allowBirths = births;
+        allowCarriers = carriers;
+        final int size = (rows + 2) * stride + BYTES.length();
+        state = new byte[size];
+        nextState = new byte[size];
+        ages = new int[size];
+        nextAges = new int[size];
+    }
+
+    /**
+     * @see WorldEngine#load(byte[], int[])
+     */
+    public boolean load(byte state[], int ages[]) {
+        for(int i = 0; i < rows; ++i) {
+            System.arraycopy(state, i * columns, this.state,
+                    (i + 1) * stride + 1, columns);
+            System.arraycopy(ages, i * columns, this.ages,
+                    (i + 1) * stride + 1, columns);
+        }
+        return true;
+    }
+
+    /**
+     * @see WorldEngine#store(byte[], int[])
+     */
+    public void store(byte state[], int ages[]) {
+        for(int i = 0; i < rows; ++i) {
+            System.arraycopy(this.state, (i + 1) * stride + 1, state,
+                    i * columns, columns);
+            System.arraycopy(this.ages, (i + 1) * stride + 1, ages,
+                    i * columns, columns);
+        }
+    }
+
+    /**
+     * @see WorldEngine#getCellState(int, int)
+     */
+    public char getCellState(int row, int column) {
+        return (char) state[(row + 1) * stride + column + 1];
+    }
+
+    /**
+     * @see WorldEngine#getNewInfectionCount()
+     */
+    public int getNewInfectionCount() {
+        return newInfections;
+    }
+
+    /**
+     * @see WorldEngine#step(int[])
+     */
+    public int step(int transitions[]) {
+        int changed = 0;
+        newInfections = 0;
+        for(int i = 1; i <= rows; ++i) {
+            for(int j = 0; j < columns; j += BYTES.length()) {
+                final VectorMask<Byte> inRange =
+                    BYTES.indexInRange(j, columns);
+                changed += gol ? stepGOL(i * stride + j + 1, inRange,
+                        transitions) :
+                    stepSIR(i * stride + j + 1, inRange, transitions);
+            }
+        }
+        final byte swapState[] = state;
+        state = nextState;
+        nextState = swapState;
+        //Game of Life Cells never age, so their ages stay where they are.
+        if(!gol) {
+            final int swapAges[] = ages;
+            ages = nextAges;
+            nextAges = swapAges;
+        }
+        return changed;
+    }
+
+    /**
+     * Evolves a vector of Cells according to the default SIR rules.
+     * @param k Padded index of the vector's first Cell.
+     * @param inRange Lanes that hold Cells of the World.
+     * @param transitions Per-transition counters.
+     * @return Number of Cells whose state changed.
+     */
+    private int stepSIR(int k, VectorMask<Byte> inRange, int transitions[]) {
+        final ByteVector c = ByteVector.fromArray(BYTES, state, k);
+        final VectorMask<Byte> isE = c.eq((byte) World.EMPTY);
+        final VectorMask<Byte> isS = c.eq((byte) World.SUSCEPTIBLE);
+        final VectorMask<Byte> isI = c.eq((byte) World.INFECTED);
+        final VectorMask<Byte> isR = c.eq((byte) World.RECOVERED);
+
+        ByteVector infectious = count(k, (byte) World.INFECTED);
+        if(allowCarriers) {
+            infectious = infectious.add(count(k, (byte) World.CARRIER_I));
+        }
+        final VectorMask<Byte> infectable =
+            infectious.compare(VectorOperators.GE, 2);
+        final VectorMask<Byte> recoverable =
+            infectious.compare(VectorOperators.LE, 4);
+
+        VectorMask<Byte> births = BYTES.maskAll(false);
+        VectorMask<Byte> deaths = BYTES.maskAll(false);
+        if(allowBirths) {
+            births = isE.and(count(k, (byte) World.EMPTY)
+                    .compare(VectorOperators.GE, 2));
+            deaths = isR.and(count(k, (byte) World.RECOVERED)
+                    .compare(VectorOperators.GE, 3));
+        }
+        final VectorMask<Byte> infections = isS.and(infectable);
+        final VectorMask<Byte> recoveries = isI.and(recoverable);
+        VectorMask<Byte> carrierInfections = BYTES.maskAll(false);
+        VectorMask<Byte> carrierRecoveries = BYTES.maskAll(false);
+        VectorMask<Byte> grow = isS.or(isI.andNot(recoveries));
+        VectorMask<Byte> zero = births.or(recoveries).or(isR);
+        final IntVector age = IntVector.fromArray(INTS, ages, k);
+        if(allowCarriers) {
+            final VectorMask<Byte> isCU = c.eq((byte) World.CARRIER_U);
+            final VectorMask<Byte> isCI = c.eq((byte) World.CARRIER_I);
+            final VectorMask<Byte> old = age.compare(VectorOperators.GE,
+                    World.CARRIER_TSBE).cast(BYTES);
+            carrierInfections = isCU.and(infectable);
+            carrierRecoveries = isCI.and(recoverable).and(old);
+            grow = grow.or(isCU).or(isCI.andNot(carrierRecoveries));
+            zero = zero.or(carrierRecoveries);
+        }
+        else {
+            //Without Carrier Cells every EMPTY Cell's age is zeroed.
+            zero = zero.or(isE);
+        }
+
+        final ByteVector next = c
+            .blend((byte) World.SUSCEPTIBLE, births)
+            .blend((byte) World.INFECTED, infections)
+            .blend((byte) World.RECOVERED, recoveries.or(carrierRecoveries))
+            .blend((byte) World.EMPTY, deaths)
+            .blend((byte) World.CARRIER_I, carrierInfections);
+        next.intoArray(nextState, k, inRange);
+        age.add(1, grow.cast(INTS)).blend(0, zero.cast(INTS))
+            .intoArray(nextAges, k, inRange.cast(INTS));
+
+        final int nBirths = births.and(inRange).trueCount();
+        final int nDeaths = deaths.and(inRange).trueCount();
+        final int nInfections = infections.and(inRange).trueCount();
+        final int nRecoveries = recoveries.and(inRange).trueCount();
+        final int nCarrierInfections =
+            carrierInfections.and(inRange).trueCount();
+        final int nCarrierRecoveries =
+            carrierRecoveries.and(inRange).trueCount();
+        transitions[World.EMPTY_TO_SUSCEPTIBLE] += nBirths;
+        transitions[World.RECOVERED_TO_EMPTY] += nDeaths;
+        transitions[World.SUSCEPTIBLE_TO_INFECTED] += nInfections;
+        transitions[World.INFECTED_TO_RECOVERED] += nRecoveries;
+        transitions[World.CARRIER_U_TO_CARRIER_I] += nCarrierInfections;
+        transitions[World.CARRIER_I_TO_RECOVERED] += nCarrierRecoveries;
+        newInfections += nInfections;
+        return nBirths + nDeaths + nInfections + nRecoveries +
+            nCarrierInfections + nCarrierRecoveries;
+    }
+
+    /**
+     * Evolves a vector of Cells according to Conway's Game of Life rules.
+     * Ages are left untouched.
+     * @param k Padded index of the vector's first Cell.
+     * @param inRange Lanes that hold Cells of the World.
+     * @param transitions Per-transition counters.
+     * @return Number of Cells whose state changed.
+     */
+    private int stepGOL(int k, VectorMask<Byte> inRange, int transitions[]) {
+        final ByteVector c = ByteVector.fromArray(BYTES, state, k);
+        final ByteVector alive = count(k, (byte) World.ALIVE);
+        final VectorMask<Byte> three = alive.eq((byte) 3);
+        final VectorMask<Byte> survives = three.or(alive.eq((byte) 2));
+        final VectorMask<Byte> births =
+            c.eq((byte) World.DEAD).and(three);
+        final VectorMask<Byte> deaths =
+            c.eq((byte) World.ALIVE).andNot(survives);
+        c.blend((byte) World.ALIVE, births)
+            .blend((byte) World.DEAD, deaths)
+            .intoArray(nextState, k, inRange);
+
+        final int nBirths = births.and(inRange).trueCount();
+        final int nDeaths = deaths.and(inRange).trueCount();
+        transitions[World.DEAD_TO_ALIVE] += nBirths;
+        transitions[World.ALIVE_TO_DEAD] += nDeaths;
+        return nBirths + nDeaths;
+    }
+
+    /**
+     * Counts, for a vector of Cells, the neighbors in the specified state.
+     * Cells outside the World are zero in the padded planes, so they are
+     * never counted.
+     * @param k Padded index of the vector's first Cell.
+     * @param s State whose neighbors are counted.
+     * @return Neighbor counts.
+     */
+    private ByteVector count(int k, byte s) {
+        ByteVector sum = (ByteVector) BYTES.zero();
+        sum = tally(sum, k - stride, s);
+        sum = tally(sum, k + stride, s);
+        sum = tally(sum, k - 1, s);
+        sum = tally(sum, k + 1, s);
+        if(moore) {
+            sum = tally(sum, k - stride - 1, s);
+            sum = tally(sum, k - stride + 1, s);
+            sum = tally(sum, k + stride - 1, s);
+            sum = tally(sum, k + stride + 1, s);
+        }
+        return sum;
+    }
+
+    /**
+     * Adds one to the lanes of a count whose Cell, at the specified offset,
+     * is in the specified state.  A true mask lane is -1 as a vector, so it
+     * is subtracted.
+     * @param sum Neighbor counts so far.
+     * @param k Padded index of the neighbor of the vector's first Cell.
+     * @param s State being counted.
+     * @return Updated neighbor counts.
+     */
+    private ByteVector tally(ByteVector sum, int k, byte s) {
+        return sum.sub(ByteVector.fromArray(BYTES, state, k).eq(s)
+                .toVector());
+    }
+}